@@ -2,16 +2,17 @@ package com.dchristofolli.webfluxessentials;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import reactor.blockhound.BlockHound;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class WebfluxEssentialsApplication {
-    static {
-        BlockHound.install();
-    }
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        System.out.println(PasswordEncoderFactories.createDelegatingPasswordEncoder().encode("game"));//NOSONAR
-        SpringApplication.run(WebfluxEssentialsApplication.class, args);
+        var application = new SpringApplication(WebfluxEssentialsApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
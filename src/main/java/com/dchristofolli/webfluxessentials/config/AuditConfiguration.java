@@ -0,0 +1,22 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import com.dchristofolli.webfluxessentials.repository.AuditWriter;
+import com.dchristofolli.webfluxessentials.repository.DatabaseAuditWriter;
+import com.dchristofolli.webfluxessentials.repository.MappedFileAuditWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class AuditConfiguration {
+    @Bean
+    public AuditWriter auditWriter(AuditProperties properties, DatabaseClient databaseClient,
+                                   ObjectMapper objectMapper) {
+        if (properties.getSink() == AuditProperties.Sink.FILE) {
+            return new MappedFileAuditWriter(properties.getDirectory(),
+                (int) properties.getSegmentSize().toBytes(), objectMapper);
+        }
+        return new DatabaseAuditWriter(databaseClient, objectMapper);
+    }
+}
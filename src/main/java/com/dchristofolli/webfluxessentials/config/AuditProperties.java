@@ -0,0 +1,31 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.audit")
+public class AuditProperties {
+    private boolean enabled = true;
+    private Durability durability = Durability.ASYNC;
+    private Sink sink = Sink.DATABASE;
+    private int capacity = 65536;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(100);
+    private Path directory = Path.of("audit");
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    public enum Durability {
+        ASYNC,
+        GROUP_COMMIT
+    }
+
+    public enum Sink {
+        DATABASE,
+        FILE
+    }
+}
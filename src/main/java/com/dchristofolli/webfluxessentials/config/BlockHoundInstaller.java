@@ -0,0 +1,37 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+import java.util.ServiceLoader;
+import java.util.stream.StreamSupport;
+
+@Slf4j
+public class BlockHoundInstaller implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        var properties = Binder.get(event.getEnvironment())
+            .bindOrCreate("game.blockhound", BlockHoundProperties.class);
+        switch (properties.getMode()) {
+            case FAIL_FAST:
+                BlockHound.install();
+                break;
+            case REPORT:
+                var recorder = BlockingCallRecorder.start(properties);
+                var builder = BlockHound.builder();
+                StreamSupport.stream(ServiceLoader.load(BlockHoundIntegration.class).spliterator(), false)
+                    .sorted()
+                    .forEach(builder::with);
+                builder.blockingMethodCallback(method -> recorder.record(method.getClassName(), method.getName()))
+                    .install();
+                break;
+            default:
+                return;
+        }
+        log.info("BlockHound installed in {} mode", properties.getMode());
+    }
+}
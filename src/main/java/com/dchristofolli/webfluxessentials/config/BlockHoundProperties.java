@@ -0,0 +1,20 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "game.blockhound")
+public class BlockHoundProperties {
+    private Mode mode = Mode.OFF;
+    private int sampleRate = 100;
+    private int recentCalls = 256;
+    private int maxSites = 1024;
+    private int stackDepth = 16;
+
+    public enum Mode {
+        OFF,
+        FAIL_FAST,
+        REPORT
+    }
+}
@@ -0,0 +1,142 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class BlockingCallRecorder {
+    private static final String OVERFLOW_SITE = "<other>";
+    private static volatile BlockingCallRecorder current;
+
+    private final int sampleRate;
+    private final int maxSites;
+    private final int stackDepth;
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, LongAdder> callsByMethod = new ConcurrentHashMap<>();
+    private final Map<String, Site> sampledSites = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<RecentCall> recentCalls;
+
+    BlockingCallRecorder(BlockHoundProperties properties) {
+        this.sampleRate = Math.max(1, properties.getSampleRate());
+        this.maxSites = properties.getMaxSites();
+        this.stackDepth = properties.getStackDepth();
+        this.recentCalls = new AtomicReferenceArray<>(properties.getRecentCalls());
+    }
+
+    static BlockingCallRecorder start(BlockHoundProperties properties) {
+        if (current == null) {
+            current = new BlockingCallRecorder(properties);
+        }
+        return current;
+    }
+
+    public static BlockingCallRecorder current() {
+        return current;
+    }
+
+    public void record(String className, String methodName) {
+        total.increment();
+        var method = className + "#" + methodName;
+        bounded(callsByMethod, method, key -> new LongAdder()).increment();
+        var position = sequence.getAndIncrement();
+        if (position % sampleRate != 0) {
+            return;
+        }
+        var stack = StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> !frame.getClassName().startsWith("reactor.blockhound.") &&
+                !frame.getClassName().equals(BlockingCallRecorder.class.getName()))
+            .limit(stackDepth)
+            .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .collect(Collectors.toList()));
+        var fingerprint = Integer.toHexString(stack.hashCode());
+        bounded(sampledSites, method + "@" + fingerprint, key -> OVERFLOW_SITE.equals(key) ?
+            new Site(OVERFLOW_SITE, OVERFLOW_SITE, List.of()) :
+            new Site(method, fingerprint, stack)).samples.increment();
+        if (recentCalls.length() > 0) {
+            recentCalls.set((int) ((position / sampleRate) % recentCalls.length()),
+                new RecentCall(Instant.now(), Thread.currentThread().getName(), method, fingerprint));
+        }
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    public Map<String, Long> callsByMethod() {
+        return callsByMethod.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    public List<Map<String, Object>> sites() {
+        return sampledSites.values().stream()
+            .sorted(Comparator.comparingLong((Site site) -> site.samples.sum()).reversed())
+            .map(site -> Map.<String, Object>of(
+                "method", site.method,
+                "fingerprint", site.fingerprint,
+                "samples", site.samples.sum(),
+                "stack", site.stack))
+            .collect(Collectors.toList());
+    }
+
+    public List<Map<String, Object>> recentCalls() {
+        var calls = new ArrayList<RecentCall>(recentCalls.length());
+        for (int i = 0; i < recentCalls.length(); i++) {
+            var call = recentCalls.get(i);
+            if (call != null) {
+                calls.add(call);
+            }
+        }
+        return calls.stream()
+            .sorted(Comparator.comparing((RecentCall call) -> call.at).reversed())
+            .map(call -> Map.<String, Object>of(
+                "at", call.at.toString(),
+                "thread", call.thread,
+                "method", call.method,
+                "fingerprint", call.fingerprint))
+            .collect(Collectors.toList());
+    }
+
+    private <V> V bounded(Map<String, V> map, String key, Function<String, V> factory) {
+        var value = map.get(key);
+        if (value != null) {
+            return value;
+        }
+        return map.computeIfAbsent(map.size() < maxSites ? key : OVERFLOW_SITE, factory);
+    }
+
+    private static final class Site {
+        private final String method;
+        private final String fingerprint;
+        private final List<String> stack;
+        private final LongAdder samples = new LongAdder();
+
+        private Site(String method, String fingerprint, List<String> stack) {
+            this.method = method;
+            this.fingerprint = fingerprint;
+            this.stack = stack;
+        }
+    }
+
+    private static final class RecentCall {
+        private final Instant at;
+        private final String thread;
+        private final String method;
+        private final String fingerprint;
+
+        private RecentCall(Instant at, String thread, String method, String fingerprint) {
+            this.at = at;
+            this.thread = thread;
+            this.method = method;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
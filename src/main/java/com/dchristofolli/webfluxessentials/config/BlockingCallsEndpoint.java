@@ -0,0 +1,45 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "blockhound")
+@RequiredArgsConstructor
+public class BlockingCallsEndpoint implements InitializingBean {
+    private final BlockHoundProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterPropertiesSet() {
+        var recorder = BlockingCallRecorder.current();
+        if (recorder != null) {
+            FunctionCounter.builder("blockhound.blocking.calls", recorder, BlockingCallRecorder::total)
+                .description("Blocking calls detected on non-blocking threads")
+                .register(meterRegistry);
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> blockingCalls() {
+        var report = new LinkedHashMap<String, Object>();
+        report.put("mode", properties.getMode());
+        var recorder = BlockingCallRecorder.current();
+        if (recorder != null) {
+            report.put("total", recorder.total());
+            report.put("sampleRate", properties.getSampleRate());
+            report.put("methods", recorder.callsByMethod());
+            report.put("sites", recorder.sites());
+            report.put("recent", recorder.recentCalls());
+        }
+        return report;
+    }
+}
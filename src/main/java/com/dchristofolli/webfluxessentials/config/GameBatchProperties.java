@@ -0,0 +1,15 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.batch")
+public class GameBatchProperties {
+    private boolean enabled = false;
+    private int maxSize = 100;
+    private Duration window = Duration.ofMillis(2);
+    private int maxInFlight = 4;
+}
@@ -0,0 +1,16 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.catalog")
+public class GameCatalogProperties {
+    private boolean enabled = false;
+    private int batchSize = 256;
+    private Duration batchWindow = Duration.ofMillis(10);
+    private int maxPending = 65536;
+    private Duration gapTimeout = Duration.ofSeconds(2);
+}
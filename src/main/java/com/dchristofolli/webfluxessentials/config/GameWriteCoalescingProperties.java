@@ -0,0 +1,14 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.write-coalescing")
+public class GameWriteCoalescingProperties {
+    private boolean enabled = false;
+    private Duration window = Duration.ofMillis(20);
+    private int maxBatchSize = 500;
+}
@@ -0,0 +1,35 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InMemorySpanExporter implements SpanExporter {
+    private final int capacity;
+    private final ConcurrentLinkedQueue<TraceSpan> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void export(List<TraceSpan> finished) {
+        spans.addAll(finished);
+        var excess = size.addAndGet(finished.size()) - capacity;
+        while (excess-- > 0 && spans.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    public List<TraceSpan> spans() {
+        return new ArrayList<>(spans);
+    }
+
+    public void clear() {
+        while (spans.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+}
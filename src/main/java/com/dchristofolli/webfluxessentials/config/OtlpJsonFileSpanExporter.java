@@ -0,0 +1,96 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One OTLP/JSON request per line, the layout read by the collector's otlpjsonfile receiver.
+@Slf4j
+public class OtlpJsonFileSpanExporter implements SpanExporter, DisposableBean {
+    private final Path file;
+    private final String serviceName;
+    private final int queueCapacity;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentLinkedQueue<TraceSpan> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Counter dropped;
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "span-export");
+    private final Disposable flusher;
+
+    public OtlpJsonFileSpanExporter(RequestTimingProperties properties, ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.file = properties.getFile();
+        this.serviceName = properties.getServiceName();
+        this.queueCapacity = properties.getQueueCapacity();
+        this.objectMapper = objectMapper;
+        this.dropped = meterRegistry.counter("game.timing.spans.dropped");
+        this.flusher = Flux.interval(properties.getFlushInterval())
+            .onBackpressureDrop()
+            .concatMap(tick -> flush())
+            .subscribe();
+    }
+
+    @Override
+    public void export(List<TraceSpan> spans) {
+        if (depth.addAndGet(spans.size()) > queueCapacity) {
+            depth.addAndGet(-spans.size());
+            dropped.increment(spans.size());
+            return;
+        }
+        queue.addAll(spans);
+    }
+
+    Mono<Void> flush() {
+        return Mono.<Void>fromRunnable(() -> {
+                var spans = new ArrayList<TraceSpan>(depth.get());
+                TraceSpan span;
+                while ((span = queue.poll()) != null) {
+                    spans.add(span);
+                }
+                depth.addAndGet(-spans.size());
+                if (!spans.isEmpty()) {
+                    append(spans);
+                }
+            })
+            .subscribeOn(scheduler)
+            .doOnError(e -> log.warn("Failed to export spans to {}", file, e))
+            .onErrorResume(e -> Mono.empty());
+    }
+
+    private void append(List<TraceSpan> spans) {
+        try {
+            var line = objectMapper.writeValueAsString(TraceSpan.toOtlp(serviceName, spans)) + '\n';
+            var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.dispose();
+        flush().block();
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,25 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+
+final class PooledConnectionFactories {
+    private PooledConnectionFactories() {
+    }
+
+    static ConnectionFactory create(String url, String username, String password, R2dbcProperties r2dbcProperties) {
+        var connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+            .username(username == null ? r2dbcProperties.getUsername() : username)
+            .password(password == null ? r2dbcProperties.getPassword() : password)
+            .build();
+        var pool = r2dbcProperties.getPool();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+            .initialSize(pool.getInitialSize())
+            .maxSize(pool.getMaxSize())
+            .maxIdleTime(pool.getMaxIdleTime())
+            .build());
+    }
+}
@@ -1,5 +1,7 @@
 package com.dchristofolli.webfluxessentials.config;
 
+import com.dchristofolli.webfluxessentials.service.GameCatalogListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,4 +12,10 @@ public class ProjectConfiguration {
     public WebProperties.Resources resources() {
         return new WebProperties.Resources();
     }
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GameCatalogListener.class, StartupListener.class,
+            SchemaMigrator.class);
+    }
 }
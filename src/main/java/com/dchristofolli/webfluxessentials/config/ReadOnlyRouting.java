@@ -0,0 +1,19 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+public final class ReadOnlyRouting {
+    private static final Object KEY = ReadOnlyRouting.class;
+
+    private ReadOnlyRouting() {
+    }
+
+    public static Context readOnly(Context context) {
+        return context.put(KEY, Boolean.TRUE);
+    }
+
+    public static boolean isReadOnly(ContextView context) {
+        return context.getOrDefault(KEY, Boolean.FALSE);
+    }
+}
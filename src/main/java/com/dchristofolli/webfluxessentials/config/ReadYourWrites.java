@@ -0,0 +1,60 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ReadYourWrites {
+    private final ReplicaRoutingProperties properties;
+    private final Map<String, Long> lastWriteByPrincipal = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(ReplicaRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return !properties.getReadYourWritesWindow().isZero();
+    }
+
+    public Mono<Void> recordWrite() {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return principal()
+            .doOnNext(name -> lastWriteByPrincipal.put(name, System.nanoTime()))
+            .then();
+    }
+
+    public Mono<Boolean> requiresPrimary() {
+        if (!isEnabled()) {
+            return Mono.just(false);
+        }
+        return principal()
+            .map(name -> {
+                var writtenAt = lastWriteByPrincipal.get(name);
+                return writtenAt != null &&
+                    System.nanoTime() - writtenAt <= properties.getReadYourWritesWindow().toNanos();
+            })
+            .defaultIfEmpty(false);
+    }
+
+    void expire() {
+        var now = System.nanoTime();
+        var window = properties.getReadYourWritesWindow().toNanos();
+        lastWriteByPrincipal.values().removeIf(writtenAt -> now - writtenAt > window);
+    }
+
+    private Mono<String> principal() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(Objects::nonNull)
+            .map(Authentication::getName);
+    }
+}
@@ -0,0 +1,25 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "game.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+    @Bean
+    public ReplicaRoutingConnectionFactory connectionFactory(R2dbcProperties r2dbcProperties,
+                                                             ReplicaRoutingProperties replicaRoutingProperties,
+                                                             ReadYourWrites readYourWrites) {
+        var primary = PooledConnectionFactories.create(r2dbcProperties.getUrl(),
+            r2dbcProperties.getUsername(), r2dbcProperties.getPassword(), r2dbcProperties);
+        var replicas = replicaRoutingProperties.getNodes().stream()
+            .map(replica -> PooledConnectionFactories.create(replica.getUrl(),
+                replica.getUsername(), replica.getPassword(), r2dbcProperties))
+            .collect(Collectors.toList());
+        return new ReplicaRoutingConnectionFactory(primary, replicas, replicaRoutingProperties, readYourWrites);
+    }
+}
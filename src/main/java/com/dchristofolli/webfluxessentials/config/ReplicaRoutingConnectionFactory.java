@@ -0,0 +1,188 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+    private final ConnectionFactory primary;
+    private final List<ReplicaNode> replicas = new ArrayList<>();
+    private final ReplicaRoutingProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ReadYourWrites readYourWrites;
+    private Disposable healthChecks;
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, List<ConnectionFactory> replicaFactories,
+                                           ReplicaRoutingProperties properties, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < replicaFactories.size(); i++) {
+            var node = new ReplicaNode("replica-" + i, replicaFactories.get(i));
+            replicas.add(node);
+            targets.put(node.key, node);
+        }
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        healthChecks = Flux.interval(properties.getHealthCheckInterval())
+            .onBackpressureDrop()
+            .concatMap(tick -> checkHealth())
+            .subscribe();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!ReadOnlyRouting.isReadOnly(context)) {
+                return readYourWrites.recordWrite().then(Mono.empty());
+            }
+            return readYourWrites.requiresPrimary()
+                .flatMap(primaryRequired -> primaryRequired ? Mono.empty() : Mono.justOrEmpty(selectReplica()));
+        });
+    }
+
+    Mono<Void> checkHealth() {
+        readYourWrites.expire();
+        return Flux.fromIterable(replicas)
+            .flatMap(node -> Mono.usingWhen(node.probe.create(),
+                    connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                    Connection::close)
+                .timeout(properties.getHealthCheckTimeout())
+                .onErrorReturn(false)
+                .doOnNext(node::setHealthy))
+            .then();
+    }
+
+    private Object selectReplica() {
+        ReplicaNode selected = null;
+        var healthy = 0;
+        for (ReplicaNode node : replicas) {
+            if (node.healthy) {
+                healthy++;
+                if (selected == null || node.pending.get() < selected.pending.get()) {
+                    selected = node;
+                }
+            }
+        }
+        if (healthy == 0) {
+            return null;
+        }
+        if (properties.getSelection() == ReplicaRoutingProperties.Selection.LEAST_PENDING) {
+            return selected.key;
+        }
+        var skip = Math.floorMod(next.getAndIncrement(), healthy);
+        for (ReplicaNode node : replicas) {
+            if (node.healthy && skip-- == 0) {
+                return node.key;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+        dispose(primary);
+        replicas.forEach(node -> dispose(node.delegate));
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable) {
+            ((Disposable) connectionFactory).dispose();
+        }
+    }
+
+    private static final class ReplicaNode implements ConnectionFactory {
+        private final String key;
+        private final ConnectionFactory delegate;
+        private final ConnectionFactory probe;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private ReplicaNode(String key, ConnectionFactory delegate) {
+            this.key = key;
+            this.delegate = delegate;
+            this.probe = unpooled(delegate);
+        }
+
+        // Probing through the pool would time out on a busy replica and fail reads over to the primary
+        // exactly under load, so health checks open their own connection.
+        private static ConnectionFactory unpooled(ConnectionFactory connectionFactory) {
+            if (connectionFactory instanceof Wrapped) {
+                var unwrapped = ((Wrapped<?>) connectionFactory).unwrap();
+                if (unwrapped instanceof ConnectionFactory) {
+                    return (ConnectionFactory) unwrapped;
+                }
+            }
+            return connectionFactory;
+        }
+
+        private void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                log.warn("Replica {} is now {}", key, healthy ? "healthy" : "unhealthy");
+            }
+            this.healthy = healthy;
+        }
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.from(delegate.create())
+                .doOnNext(connection -> pending.incrementAndGet())
+                .map(this::track);
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return delegate.getMetadata();
+        }
+
+        private Connection track(Connection connection) {
+            var released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if ("close".equals(method.getName())) {
+                        return Mono.from((Publisher<?>) result)
+                            .doFinally(signal -> {
+                                if (released.compareAndSet(false, true)) {
+                                    pending.decrementAndGet();
+                                }
+                            });
+                    }
+                    return result;
+                });
+        }
+    }
+}
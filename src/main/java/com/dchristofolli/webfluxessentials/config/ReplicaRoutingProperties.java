@@ -0,0 +1,31 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "game.replicas")
+public class ReplicaRoutingProperties {
+    private boolean enabled = false;
+    private List<Replica> nodes = new ArrayList<>();
+    private Selection selection = Selection.ROUND_ROBIN;
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_PENDING
+    }
+}
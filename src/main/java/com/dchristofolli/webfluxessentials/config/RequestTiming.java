@@ -0,0 +1,152 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+public final class RequestTiming {
+    private static final Object KEY = RequestTiming.class;
+    private static final Pattern TRACE_PARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final AtomicLongArray durations = new AtomicLongArray(Phase.values().length);
+    private final ConcurrentLinkedQueue<TraceSpan> spans = new ConcurrentLinkedQueue<>();
+
+    private RequestTiming(String traceId, String parentSpanId) {
+        this.traceId = traceId;
+        this.spanId = newSpanId();
+        this.parentSpanId = parentSpanId;
+        this.startEpochNanos = System.currentTimeMillis() * 1_000_000;
+        this.startNanos = System.nanoTime();
+    }
+
+    // A caller's sampled flag only lifts the local sample rate when honorParentSampling is set, so clients
+    // cannot force every request to be traced. Requests whose parent was not sampled are never sampled.
+    static RequestTiming start(String traceParent, double sampleRate, boolean honorParentSampling) {
+        var matcher = traceParent == null ? null : TRACE_PARENT.matcher(traceParent);
+        var hasParent = matcher != null && matcher.matches();
+        if (hasParent && (Integer.parseInt(matcher.group(3), 16) & 1) == 0) {
+            return null;
+        }
+        if (!(hasParent && honorParentSampling) && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        if (hasParent) {
+            return new RequestTiming(matcher.group(1), matcher.group(2));
+        }
+        var random = ThreadLocalRandom.current();
+        return new RequestTiming(String.format("%016x%016x", random.nextLong(), random.nextLong()), null);
+    }
+
+    static Context with(Context context, RequestTiming timing) {
+        return context.put(KEY, timing);
+    }
+
+    static RequestTiming current(ContextView context) {
+        return context.getOrDefault(KEY, null);
+    }
+
+    public static <T> Mono<T> time(Phase phase, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            var timing = current(context);
+            if (timing == null) {
+                return source;
+            }
+            var start = System.nanoTime();
+            return source.doFinally(signal -> timing.record(phase, start, System.nanoTime()));
+        });
+    }
+
+    public static <T> Flux<T> time(Phase phase, Flux<T> source) {
+        return Flux.deferContextual(context -> {
+            var timing = current(context);
+            if (timing == null) {
+                return source;
+            }
+            var start = System.nanoTime();
+            return source.doFinally(signal -> timing.record(phase, start, System.nanoTime()));
+        });
+    }
+
+    void record(Phase phase, long startNanos, long endNanos) {
+        durations.addAndGet(phase.ordinal(), endNanos - startNanos);
+        spans.add(new TraceSpan(traceId, newSpanId(), spanId, phase.description, TraceSpan.KIND_INTERNAL,
+            epochNanos(startNanos), epochNanos(endNanos), Map.of()));
+    }
+
+    String serverTiming() {
+        var header = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            var nanos = durations.get(phase.ordinal());
+            if (nanos > 0) {
+                appendMetric(header, phase.metric, phase.description, nanos);
+            }
+        }
+        appendMetric(header, "total", null, System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    List<TraceSpan> finish(String name, Map<String, String> attributes) {
+        var finished = new ArrayList<TraceSpan>(spans.size() + 1);
+        finished.add(new TraceSpan(traceId, spanId, parentSpanId, name, TraceSpan.KIND_SERVER,
+            startEpochNanos, epochNanos(System.nanoTime()), attributes));
+        finished.addAll(spans);
+        return finished;
+    }
+
+    long duration(Phase phase) {
+        return durations.get(phase.ordinal());
+    }
+
+    private long epochNanos(long nanos) {
+        return startEpochNanos + (nanos - startNanos);
+    }
+
+    private static void appendMetric(StringBuilder header, String metric, String description, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(metric);
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+        header.append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return String.format("%016x", id);
+    }
+
+    public enum Phase {
+        AUTH("auth", "Authentication"),
+        CONNECTION("conn", "Connection acquisition"),
+        QUERY("db", "Query"),
+        ENCODING("enc", "JSON encoding");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+}
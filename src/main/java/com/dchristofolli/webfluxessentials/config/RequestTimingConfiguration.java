@@ -0,0 +1,48 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@ConditionalOnProperty(prefix = "game.timing", name = "enabled", havingValue = "true")
+public class RequestTimingConfiguration {
+    @Bean
+    public static RequestTimingPostProcessor requestTimingPostProcessor() {
+        return new RequestTimingPostProcessor();
+    }
+
+    @Bean
+    public SpanExporter spanExporter(RequestTimingProperties properties, ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        switch (properties.getExporter()) {
+            case MEMORY:
+                return new InMemorySpanExporter(properties.getMemoryCapacity());
+            case FILE:
+                return new OtlpJsonFileSpanExporter(properties, objectMapper, meterRegistry);
+            default:
+                return SpanExporter.NONE;
+        }
+    }
+
+    @Bean
+    public RequestTimingFilter requestTimingFilter(RequestTimingProperties properties, SpanExporter spanExporter) {
+        return new RequestTimingFilter(properties, spanExporter);
+    }
+
+    @Bean
+    @Order(1)
+    public CodecCustomizer timingJsonCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new TimingJsonEncoder(objectMapper));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "game.timing", name = "exporter", havingValue = "memory")
+    public SpansEndpoint spansEndpoint(SpanExporter spanExporter, RequestTimingProperties properties) {
+        return new SpansEndpoint((InMemorySpanExporter) spanExporter, properties);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class RequestTimingFilter implements WebFilter, Ordered {
+    static final String SERVER_TIMING = "Server-Timing";
+    private static final String TRACE_PARENT = "traceparent";
+
+    private final RequestTimingProperties properties;
+    private final SpanExporter spanExporter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var timing = RequestTiming.start(exchange.getRequest().getHeaders().getFirst(TRACE_PARENT),
+            properties.getSampleRate(), properties.isHonorParentSampling());
+        if (timing == null) {
+            return chain.filter(exchange);
+        }
+        if (properties.isServerTimingHeader()) {
+            exchange.getResponse().beforeCommit(() -> {
+                exchange.getResponse().getHeaders().set(SERVER_TIMING, timing.serverTiming());
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange)
+            .contextWrite(context -> RequestTiming.with(context, timing))
+            .doFinally(signal -> spanExporter.export(timing.finish(spanName(exchange), attributes(exchange))));
+    }
+
+    private static String spanName(ServerWebExchange exchange) {
+        var pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var route = pattern != null ? pattern.toString() : exchange.getRequest().getPath().value();
+        return exchange.getRequest().getMethodValue() + " " + route;
+    }
+
+    private static Map<String, String> attributes(ServerWebExchange exchange) {
+        var status = exchange.getResponse().getStatusCode();
+        return Map.of(
+            "http.method", exchange.getRequest().getMethodValue(),
+            "http.target", exchange.getRequest().getPath().value(),
+            "http.status_code", Integer.toString((status != null ? status : HttpStatus.OK).value()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
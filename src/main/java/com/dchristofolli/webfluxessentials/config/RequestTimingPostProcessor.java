@@ -0,0 +1,85 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class RequestTimingPostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof GameRepository) {
+            var proxy = new ProxyFactory();
+            proxy.setTarget(bean);
+            proxy.addInterface(GameRepository.class);
+            proxy.addAdvice((MethodInterceptor) invocation -> {
+                var result = invocation.proceed();
+                if (result instanceof Mono) {
+                    return RequestTiming.time(RequestTiming.Phase.QUERY, (Mono<?>) result);
+                }
+                if (result instanceof Flux) {
+                    return RequestTiming.time(RequestTiming.Phase.QUERY, (Flux<?>) result);
+                }
+                return result;
+            });
+            return proxy.getProxy();
+        }
+        if (bean instanceof ConnectionFactory) {
+            return new TimedConnectionFactory((ConnectionFactory) bean);
+        }
+        return bean;
+    }
+
+    // Stays Wrapped so pool metrics can still reach the pool.
+    static final class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>,
+        Disposable, DisposableBean {
+        private final ConnectionFactory delegate;
+
+        TimedConnectionFactory(ConnectionFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return RequestTiming.time(RequestTiming.Phase.CONNECTION, Mono.from(delegate.create()));
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return delegate.getMetadata();
+        }
+
+        @Override
+        public ConnectionFactory unwrap() {
+            return delegate;
+        }
+
+        @Override
+        public void dispose() {
+            if (delegate instanceof Disposable) {
+                ((Disposable) delegate).dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return delegate instanceof Disposable && ((Disposable) delegate).isDisposed();
+        }
+
+        @Override
+        public void destroy() throws Exception {
+            if (delegate instanceof DisposableBean) {
+                ((DisposableBean) delegate).destroy();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.timing")
+public class RequestTimingProperties {
+    private boolean enabled = false;
+    private double sampleRate = 0.01;
+    private boolean honorParentSampling = false;
+    private boolean serverTimingHeader = true;
+    private Exporter exporter = Exporter.NONE;
+    private String serviceName = "webflux-essentials";
+    private int memoryCapacity = 2048;
+    private Path file = Path.of("traces", "spans.jsonl");
+    private int queueCapacity = 8192;
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    public enum Exporter {
+        NONE,
+        MEMORY,
+        FILE
+    }
+}
@@ -0,0 +1,137 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(prefix = "game.schema", name = "migrate", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SchemaMigrator implements InitializingBean {
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final long LOCK_KEY = 0x67616D65L;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final SchemaProperties properties;
+
+    public SchemaMigrator(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager,
+                          SchemaProperties properties) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate().block();
+    }
+
+    public Mono<Void> migrate() {
+        var migrations = load();
+        // Every statement, including the bootstrap DDL, runs under the advisory lock so that nodes starting
+        // together migrate one after the other instead of racing on the catalog.
+        return databaseClient.sql("SELECT pg_advisory_xact_lock(:key)")
+            .bind("key", LOCK_KEY)
+            .then()
+            .then(databaseClient.sql("CREATE SCHEMA IF NOT EXISTS game").then())
+            .then(databaseClient.sql("CREATE TABLE IF NOT EXISTS game.schema_version (" +
+                    "version INTEGER PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "checksum INTEGER NOT NULL, " +
+                    "installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)")
+                .then())
+            .then(applied())
+            .flatMapMany(applied -> Flux.fromIterable(migrations)
+                .filter(migration -> !verify(migration, applied))
+                .concatMap(this::apply))
+            .as(transactionalOperator::transactional)
+            .then();
+    }
+
+    private Mono<Map<Integer, Integer>> applied() {
+        return databaseClient.sql("SELECT version, checksum FROM game.schema_version")
+            .map(row -> Map.entry(row.get("version", Integer.class), row.get("checksum", Integer.class)))
+            .all()
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private boolean verify(Migration migration, Map<Integer, Integer> applied) {
+        var checksum = applied.get(migration.version);
+        if (checksum != null && checksum != migration.checksum) {
+            throw new IllegalStateException("Migration V" + migration.version + " (" + migration.description +
+                ") was modified after it was applied");
+        }
+        return checksum != null;
+    }
+
+    private Mono<Void> apply(Migration migration) {
+        log.info("Applying schema migration V{} {}", migration.version, migration.description);
+        return databaseClient.sql(migration.script)
+            .then()
+            .then(databaseClient.sql("INSERT INTO game.schema_version (version, description, checksum) " +
+                    "VALUES (:version, :description, :checksum)")
+                .bind("version", migration.version)
+                .bind("description", migration.description)
+                .bind("checksum", migration.checksum)
+                .then());
+    }
+
+    private List<Migration> load() {
+        try {
+            var resources = new PathMatchingResourcePatternResolver().getResources(properties.getLocations());
+            return Arrays.stream(resources)
+                .map(Migration::of)
+                .sorted(Comparator.comparingInt(migration -> migration.version))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final String script;
+        private final int checksum;
+
+        private Migration(int version, String description, String script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.checksum = script.hashCode();
+        }
+
+        private static Migration of(Resource resource) {
+            var matcher = FILE_NAME.matcher(resource.getFilename());
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Unexpected migration file name " + resource.getFilename());
+            }
+            try {
+                var script = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+                return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), script);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "game.schema")
+public class SchemaProperties {
+    private boolean migrate = true;
+    private String locations = "classpath:db/migration/V*__*.sql";
+}
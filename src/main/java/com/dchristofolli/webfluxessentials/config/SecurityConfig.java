@@ -1,6 +1,8 @@
 package com.dchristofolli.webfluxessentials.config;
 
 import com.dchristofolli.webfluxessentials.service.UserDetailsService;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
@@ -18,6 +20,7 @@ public class SecurityConfig {
         return http
             .csrf().disable()
             .authorizeExchange()
+            .matchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class)).hasRole(admin)
             .pathMatchers(HttpMethod.POST, baseUrl).hasRole(admin)
             .pathMatchers(HttpMethod.PUT, baseUrl).hasRole(admin)
             .pathMatchers(HttpMethod.DELETE, baseUrl).hasRole(admin)
@@ -29,6 +32,7 @@ public class SecurityConfig {
 
     @Bean
     public ReactiveAuthenticationManager authenticationManager(UserDetailsService userDetailsService){
-        return new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        var delegate = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        return authentication -> RequestTiming.time(RequestTiming.Phase.AUTH, delegate.authenticate(authentication));
     }
 }
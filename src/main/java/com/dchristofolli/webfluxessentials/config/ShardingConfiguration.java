@@ -0,0 +1,26 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import com.dchristofolli.webfluxessentials.repository.ShardedGameRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "game.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+    @Bean
+    @Primary
+    public ShardedGameRepository shardedGameRepository(R2dbcProperties r2dbcProperties,
+                                                       ShardingProperties shardingProperties) {
+        var shards = shardingProperties.getShards().stream()
+            .map(shard -> PooledConnectionFactories.create(shard.getUrl(),
+                shard.getUsername(), shard.getPassword(), r2dbcProperties))
+            .collect(Collectors.toList());
+        return new ShardedGameRepository(shards, shardingProperties.getVirtualNodes(),
+            shardingProperties.getIdQuery());
+    }
+}
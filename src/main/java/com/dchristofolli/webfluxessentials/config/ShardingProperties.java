@@ -0,0 +1,23 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "game.sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    private List<Shard> shards = new ArrayList<>();
+    private int virtualNodes = 128;
+    private String idQuery = "SELECT nextval('game.game_id_seq')";
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
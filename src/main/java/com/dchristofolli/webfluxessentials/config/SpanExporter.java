@@ -0,0 +1,11 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import java.util.List;
+
+public interface SpanExporter {
+    SpanExporter NONE = spans -> {
+    };
+
+    // Called on the request's thread, so it must not block.
+    void export(List<TraceSpan> spans);
+}
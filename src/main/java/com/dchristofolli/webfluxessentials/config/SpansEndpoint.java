@@ -0,0 +1,25 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+@Endpoint(id = "spans")
+@RequiredArgsConstructor
+public class SpansEndpoint {
+    private final InMemorySpanExporter exporter;
+    private final RequestTimingProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> spans() {
+        return TraceSpan.toOtlp(properties.getServiceName(), exporter.spans());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        exporter.clear();
+    }
+}
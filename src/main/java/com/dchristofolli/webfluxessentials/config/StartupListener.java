@@ -0,0 +1,63 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupListener implements ApplicationListener<ApplicationReadyEvent> {
+    private final StartupProperties properties;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        var context = event.getApplicationContext();
+        if (properties.getReportPath() != null &&
+            context.getApplicationStartup() instanceof BufferingApplicationStartup) {
+            writeReport(((BufferingApplicationStartup) context.getApplicationStartup()).getBufferedTimeline(),
+                event.getTimeTaken());
+        }
+        if (properties.isExitAfterReady()) {
+            System.exit(SpringApplication.exit(context));//NOSONAR
+        }
+    }
+
+    private void writeReport(StartupTimeline timeline, Duration timeTaken) {
+        var header = String.format("ready in %d ms, %d steps recorded%n", timeTaken.toMillis(),
+            timeline.getEvents().size());
+        var slowest = timeline.getEvents().stream()
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(properties.getReportSteps())
+            .map(step -> String.format("%8d ms  %s %s", step.getDuration().toMillis(),
+                step.getStartupStep().getName(), tags(step.getStartupStep().getTags())))
+            .collect(Collectors.joining(System.lineSeparator()));
+        try {
+            var path = properties.getReportPath().toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, header + slowest + System.lineSeparator());
+            log.info("Startup report written to {}", path);
+        } catch (IOException e) {
+            log.warn("Could not write startup report to {}", properties.getReportPath(), e);
+        }
+    }
+
+    private static String tags(StartupStep.Tags tags) {
+        return StreamSupport.stream(tags.spliterator(), false)
+            .map(tag -> tag.getKey() + "=" + tag.getValue())
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,14 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "game.startup")
+public class StartupProperties {
+    private Path reportPath;
+    private int reportSteps = 50;
+    private boolean exitAfterReady = false;
+}
@@ -0,0 +1,52 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public class TimingJsonEncoder extends Jackson2JsonEncoder {
+    public TimingJsonEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream)
+                .flatMap(value -> timed(value, bufferFactory, elementType, mimeType, hints))
+                .flux();
+        }
+        // Streaming media types are encoded value by value as they arrive and are left untimed.
+        if (getStreamingMediaTypeSeparator(mimeType) != null) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        var listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+            .collectList()
+            .flatMap(list -> timed(list, bufferFactory, listType, mimeType, hints))
+            .flux();
+    }
+
+    private Mono<DataBuffer> timed(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        return Mono.deferContextual(context -> {
+            var timing = RequestTiming.current(context);
+            var start = System.nanoTime();
+            var buffer = encodeValue(value, bufferFactory, valueType, mimeType, hints);
+            if (timing != null) {
+                timing.record(RequestTiming.Phase.ENCODING, start, System.nanoTime());
+            }
+            return Mono.just(buffer);
+        });
+    }
+}
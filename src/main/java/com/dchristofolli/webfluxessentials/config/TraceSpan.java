@@ -0,0 +1,76 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class TraceSpan {
+    static final int KIND_INTERNAL = 1;
+    static final int KIND_SERVER = 2;
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final int kind;
+    private final long startEpochNanos;
+    private final long endEpochNanos;
+    private final Map<String, String> attributes;
+
+    TraceSpan(String traceId, String spanId, String parentSpanId, String name, int kind,
+              long startEpochNanos, long endEpochNanos, Map<String, String> attributes) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochNanos = startEpochNanos;
+        this.endEpochNanos = endEpochNanos;
+        this.attributes = attributes;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDurationNanos() {
+        return endEpochNanos - startEpochNanos;
+    }
+
+    public static Map<String, Object> toOtlp(String serviceName, Collection<TraceSpan> spans) {
+        var encoded = new ArrayList<Map<String, Object>>(spans.size());
+        spans.forEach(span -> encoded.add(span.toOtlp()));
+        return Map.of("resourceSpans", List.of(Map.of(
+            "resource", Map.of("attributes", attributes(Map.of("service.name", serviceName))),
+            "scopeSpans", List.of(Map.of(
+                "scope", Map.of("name", TraceSpan.class.getPackageName()),
+                "spans", encoded)))));
+    }
+
+    private Map<String, Object> toOtlp() {
+        var span = new LinkedHashMap<String, Object>();
+        span.put("traceId", traceId);
+        span.put("spanId", spanId);
+        if (parentSpanId != null) {
+            span.put("parentSpanId", parentSpanId);
+        }
+        span.put("name", name);
+        span.put("kind", kind);
+        span.put("startTimeUnixNano", Long.toString(startEpochNanos));
+        span.put("endTimeUnixNano", Long.toString(endEpochNanos));
+        span.put("attributes", attributes(attributes));
+        return span;
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, String> attributes) {
+        var encoded = new ArrayList<Map<String, Object>>(attributes.size());
+        attributes.forEach((key, value) -> encoded.add(Map.of("key", key, "value", Map.of("stringValue", value))));
+        return encoded;
+    }
+}
@@ -1,6 +1,8 @@
 package com.dchristofolli.webfluxessentials.controller;
 
+import com.dchristofolli.webfluxessentials.domain.BatchSummary;
 import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
 import com.dchristofolli.webfluxessentials.service.GameService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,11 +38,23 @@ public class GameController {
         return gameService.save(game);
     }
 
+    // All or nothing on a single database. With sharding each shard commits on its own, so a failed commit on
+    // one shard can leave the games routed to the others saved. Only a count is returned so that neither the
+    // request nor the response is held in memory.
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping(path = "batch",
         consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<Game> saveBatch(@RequestBody List<Game> games) {
-        return gameService.saveAll(games);
+    public Mono<BatchSummary> saveBatch(@Valid @RequestBody Flux<Game> games) {
+        return gameService.saveAll(games)
+            .count()
+            .map(BatchSummary::new);
+    }
+
+    @PutMapping(path = "batch",
+        consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<Game> upsertBatch(@RequestParam(defaultValue = "ID") UpsertKey key,
+                                  @RequestBody List<Game> games) {
+        return gameService.upsertAll(games, key);
     }
 
     @ResponseStatus(HttpStatus.NO_CONTENT)
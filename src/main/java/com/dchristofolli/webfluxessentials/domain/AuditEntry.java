@@ -0,0 +1,21 @@
+package com.dchristofolli.webfluxessentials.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuditEntry {
+    private Instant occurredAt;
+    private String principal;
+    private AuditOperation operation;
+    private Integer gameId;
+    private Game before;
+    private Game after;
+}
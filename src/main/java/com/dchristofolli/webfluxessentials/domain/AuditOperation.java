@@ -0,0 +1,8 @@
+package com.dchristofolli.webfluxessentials.domain;
+
+public enum AuditOperation {
+    CREATE,
+    UPDATE,
+    DELETE,
+    UPSERT
+}
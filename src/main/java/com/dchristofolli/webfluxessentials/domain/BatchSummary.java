@@ -0,0 +1,12 @@
+package com.dchristofolli.webfluxessentials.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchSummary {
+    private long saved;
+}
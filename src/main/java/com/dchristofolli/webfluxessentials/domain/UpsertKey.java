@@ -0,0 +1,6 @@
+package com.dchristofolli.webfluxessentials.domain;
+
+public enum UpsertKey {
+    ID,
+    NAME
+}
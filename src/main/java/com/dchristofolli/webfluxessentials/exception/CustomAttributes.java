@@ -10,6 +10,8 @@ import java.util.Map;
 
 @Component
 public class CustomAttributes extends DefaultErrorAttributes {
+    public static final String DEVELOPER_MESSAGE = "A ResponseStatusException happened";
+
     @Override
     public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
         Map<String, Object> errorAttributes = super.getErrorAttributes(request, options);
@@ -17,7 +19,7 @@ public class CustomAttributes extends DefaultErrorAttributes {
         if(throwable instanceof ResponseStatusException){
             ResponseStatusException ex = (ResponseStatusException) throwable;
             errorAttributes.put("message", ex.getMessage());
-            errorAttributes.put("developerMessage", "A ResponseStatusException happened");
+            errorAttributes.put("developerMessage", DEVELOPER_MESSAGE);
         }
         return errorAttributes;
     }
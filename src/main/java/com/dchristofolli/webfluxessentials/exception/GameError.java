@@ -0,0 +1,57 @@
+package com.dchristofolli.webfluxessentials.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public enum GameError {
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Game not found"),
+    NAME_REQUIRED(HttpStatus.BAD_REQUEST, "Game name is required"),
+    ID_REQUIRED(HttpStatus.BAD_REQUEST, "Game id is required to upsert by id"),
+    UPSERT_BY_NAME_UNSUPPORTED(HttpStatus.BAD_REQUEST, "Upsert by name is not supported with sharded storage"),
+    CONFLICT(HttpStatus.CONFLICT, "Game conflicts with an existing game");
+
+    private final HttpStatus status;
+    private final String reason;
+    private final byte[] bodyTail;
+
+    GameError(HttpStatus status, String reason) {
+        this.status = status;
+        this.reason = reason;
+        var message = new ResponseStatusException(status, reason).getMessage();
+        this.bodyTail = ("\"status\":" + status.value() +
+            ",\"error\":\"" + quote(status.getReasonPhrase()) +
+            "\",\"message\":\"" + quote(message) +
+            "\",\"developerMessage\":\"" + quote(CustomAttributes.DEVELOPER_MESSAGE) + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public GameException exception() {
+        return new GameException(this);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    byte[] body(String timestamp, String path, String requestId) {
+        var head = ("{\"timestamp\":\"" + timestamp +
+            "\",\"path\":\"" + quote(path) +
+            "\",\"requestId\":\"" + quote(requestId) + "\",")
+            .getBytes(StandardCharsets.UTF_8);
+        var body = Arrays.copyOf(head, head.length + bodyTail.length);
+        System.arraycopy(bodyTail, 0, body, head.length, bodyTail.length);
+        return body;
+    }
+
+    private static String quote(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+}
@@ -0,0 +1,21 @@
+package com.dchristofolli.webfluxessentials.exception;
+
+import org.springframework.web.server.ResponseStatusException;
+
+public class GameException extends ResponseStatusException {
+    private final transient GameError error;
+
+    GameException(GameError error) {
+        super(error.getStatus(), error.getReason());
+        this.error = error;
+    }
+
+    public GameError getError() {
+        return error;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,24 +1,32 @@
 package com.dchristofolli.webfluxessentials.exception;
 
-import io.netty.util.internal.StringUtil;
+import io.r2dbc.spi.R2dbcException;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 
 @Component
 @Order(-2)
 public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx");
 
     public GlobalExceptionHandler(ErrorAttributes errorAttributes, WebProperties.Resources resources,
                                   ApplicationContext applicationContext, ServerCodecConfigurer configurer) {
@@ -26,14 +34,47 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
         this.setMessageWriters(configurer.getWriters());
     }
 
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable throwable) {
+        if (isUniqueViolation(throwable)) {
+            throwable = GameError.CONFLICT.exception();
+        }
+        var response = exchange.getResponse();
+        if (!(throwable instanceof GameException) || response.isCommitted()) {
+            return super.handle(exchange, throwable);
+        }
+        var error = ((GameException) throwable).getError();
+        var body = error.body(TIMESTAMP.format(OffsetDateTime.now(ZoneOffset.UTC)),
+            exchange.getRequest().getPath().value(), exchange.getRequest().getId());
+        response.setStatusCode(error.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    // Only duplicate keys are conflicts; NOT NULL, check and foreign key violations reach the generic handler.
+    private static boolean isUniqueViolation(Throwable throwable) {
+        if (throwable instanceof DuplicateKeyException) {
+            return true;
+        }
+        if (!(throwable instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (var cause = throwable.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException && UNIQUE_VIOLATION.equals(((R2dbcException) cause).getSqlState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected RouterFunction<ServerResponse> getRoutingFunction(ErrorAttributes errorAttributes) {
         return RouterFunctions.route(RequestPredicates.all(), this::formatErrorResponse);
     }
 
     private Mono<ServerResponse> formatErrorResponse(ServerRequest request) {
-        var query = request.uri().getQuery();
-        var errorAttributeOptions = isTraceEnabled(query) ?
+        var errorAttributeOptions = isTraceEnabled(request) ?
             ErrorAttributeOptions.of(ErrorAttributeOptions.Include.STACK_TRACE) :
             ErrorAttributeOptions.defaults();
         var errorAttributes = getErrorAttributes(request, errorAttributeOptions);
@@ -44,7 +85,9 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
             .body(BodyInserters.fromValue(errorAttributes));
     }
 
-    private boolean isTraceEnabled(String query) {
-        return !StringUtil.isNullOrEmpty(query) && query.contains("trace=truce");
+    private boolean isTraceEnabled(ServerRequest request) {
+        return request.queryParam("trace")
+            .map(Boolean::parseBoolean)
+            .orElse(false);
     }
 }
@@ -0,0 +1,14 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.AuditEntry;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface AuditWriter {
+    Mono<Void> write(List<AuditEntry> entries);
+
+    default boolean joinsTransactions() {
+        return false;
+    }
+}
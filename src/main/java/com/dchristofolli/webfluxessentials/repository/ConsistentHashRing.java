@@ -0,0 +1,47 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import java.util.Arrays;
+
+final class ConsistentHashRing {
+    private final int[] points;
+    private final int[] owners;
+
+    ConsistentHashRing(int shards, int virtualNodes) {
+        if (shards < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one shard and one virtual node");
+        }
+        var size = shards * virtualNodes;
+        var entries = new long[size];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                var point = mix(shard * 0x9E3779B9 + node);
+                entries[shard * virtualNodes + node] = ((long) point << 32) | shard;
+            }
+        }
+        Arrays.sort(entries);
+        points = new int[size];
+        owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = (int) (entries[i] >> 32);
+            owners[i] = (int) entries[i];
+        }
+    }
+
+    int shardFor(int key) {
+        var index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    private static int mix(int value) {
+        var h = value;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.AuditEntry;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class DatabaseAuditWriter implements AuditWriter {
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> write(List<AuditEntry> entries) {
+        var sql = new StringBuilder(128 + entries.size() * 96);
+        sql.append("INSERT INTO game.audit (occurred_at, principal, operation, game_id, before_state, after_state) VALUES ");
+        for (int i = 0; i < entries.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                .append("(:at").append(i)
+                .append(", :principal").append(i)
+                .append(", :operation").append(i)
+                .append(", :game").append(i)
+                .append(", CAST(:before").append(i).append(" AS JSONB)")
+                .append(", CAST(:after").append(i).append(" AS JSONB))");
+        }
+        var spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            spec = spec.bind("at" + i, entry.getOccurredAt().atOffset(ZoneOffset.UTC))
+                .bind("operation" + i, entry.getOperation().name());
+            spec = entry.getPrincipal() == null ?
+                spec.bindNull("principal" + i, String.class) :
+                spec.bind("principal" + i, entry.getPrincipal());
+            spec = entry.getGameId() == null ?
+                spec.bindNull("game" + i, Integer.class) :
+                spec.bind("game" + i, entry.getGameId());
+            spec = entry.getBefore() == null ?
+                spec.bindNull("before" + i, String.class) :
+                spec.bind("before" + i, toJson(entry.getBefore()));
+            spec = entry.getAfter() == null ?
+                spec.bindNull("after" + i, String.class) :
+                spec.bind("after" + i, toJson(entry.getAfter()));
+        }
+        return spec.then();
+    }
+
+    @Override
+    public boolean joinsTransactions() {
+        return true;
+    }
+
+    private String toJson(Game game) {
+        try {
+            return objectMapper.writeValueAsString(game);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
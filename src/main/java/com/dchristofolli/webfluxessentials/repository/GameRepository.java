@@ -1,7 +1,21 @@
 package com.dchristofolli.webfluxessentials.repository;
 
 import com.dchristofolli.webfluxessentials.domain.Game;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 
-public interface GameRepository extends ReactiveCrudRepository<Game, Integer> {
+public interface GameRepository extends ReactiveCrudRepository<Game, Integer>, GameUpsertRepository {
+    @Query("SELECT * FROM game.game WHERE id = ANY(:ids)")
+    Flux<Game> findAllByIds(Integer[] ids);
+
+    // The locking subquery reads each row after any concurrent writer has committed, so the returned rows hold
+    // the state this update replaced.
+    String UPDATE_ALL_NAMES = "UPDATE game.game AS g SET name = v.name " +
+        "FROM (SELECT UNNEST(:ids) AS id, UNNEST(:names) AS name) AS v, " +
+        "(SELECT id, name FROM game.game WHERE id = ANY(:ids) FOR UPDATE) AS old " +
+        "WHERE g.id = v.id AND old.id = g.id RETURNING old.id, old.name";
+
+    @Query(UPDATE_ALL_NAMES)
+    Flux<Game> updateAllNames(Integer[] ids, String[] names);
 }
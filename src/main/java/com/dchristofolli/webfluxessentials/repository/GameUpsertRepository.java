@@ -0,0 +1,11 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface GameUpsertRepository {
+    Flux<Game> upsertAll(List<Game> games, UpsertKey key);
+}
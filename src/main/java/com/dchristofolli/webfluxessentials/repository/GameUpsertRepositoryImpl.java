@@ -0,0 +1,71 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class GameUpsertRepositoryImpl implements GameUpsertRepository {
+    static final int CHUNK_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<Game> upsertAll(List<Game> games, UpsertKey key) {
+        var upserted = upsertAll(databaseClient, games, key);
+        if (key != UpsertKey.ID) {
+            return upserted;
+        }
+        return upserted.concatWith(advanceIdSequence(databaseClient, games).then(Mono.<Game>empty()));
+    }
+
+    // Explicit ids do not draw from the identity sequence, so move it past them before POST /games collides.
+    static Mono<Void> advanceIdSequence(DatabaseClient databaseClient, List<Game> games) {
+        var maxId = games.stream().mapToInt(Game::getId).max();
+        if (maxId.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("SELECT setval('game.game_id_seq', :id) FROM game.game_id_seq WHERE last_value < :id")
+            .bind("id", maxId.getAsInt())
+            .then();
+    }
+
+    static Flux<Game> upsertAll(DatabaseClient databaseClient, List<Game> games, UpsertKey key) {
+        return Flux.fromIterable(games)
+            .buffer(CHUNK_SIZE)
+            .concatMap(chunk -> upsertChunk(databaseClient, chunk, key));
+    }
+
+    private static Flux<Game> upsertChunk(DatabaseClient databaseClient, List<Game> chunk, UpsertKey key) {
+        var sql = new StringBuilder(64 + chunk.size() * 24);
+        if (key == UpsertKey.ID) {
+            sql.append("INSERT INTO game.game AS g (id, name) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(:id").append(i).append(", :name").append(i).append(')');
+            }
+            sql.append(" ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name")
+                .append(" WHERE g.name IS DISTINCT FROM EXCLUDED.name");
+        } else {
+            sql.append("INSERT INTO game.game AS g (name) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(:name").append(i).append(')');
+            }
+            sql.append(" ON CONFLICT (name) DO NOTHING");
+        }
+        sql.append(" RETURNING g.id, g.name");
+        var spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (key == UpsertKey.ID) {
+                spec = spec.bind("id" + i, chunk.get(i).getId());
+            }
+            spec = spec.bind("name" + i, chunk.get(i).getName());
+        }
+        return spec.map(row -> new Game(row.get("id", Integer.class), row.get("name", String.class)))
+            .all();
+    }
+}
@@ -0,0 +1,103 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.AuditEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Slf4j
+public class MappedFileAuditWriter implements AuditWriter, DisposableBean {
+    private static final byte NEW_LINE = '\n';
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ObjectMapper objectMapper;
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "audit-file");
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+
+    public MappedFileAuditWriter(Path directory, int segmentSize, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> write(List<AuditEntry> entries) {
+        return Mono.<Void>fromRunnable(() -> {
+                try {
+                    for (AuditEntry entry : entries) {
+                        append(entry);
+                    }
+                } finally {
+                    // Nothing is mapped yet when the very first append fails, so let its error surface as is.
+                    if (segment != null) {
+                        segment.force();
+                    }
+                }
+            })
+            .subscribeOn(scheduler);
+    }
+
+    private void append(AuditEntry entry) {
+        byte[] line;
+        try {
+            line = objectMapper.writeValueAsBytes(entry);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line.length + 1 > segmentSize) {
+            throw new IllegalStateException("Audit entry of " + line.length + " bytes does not fit in a segment");
+        }
+        // The unused tail of a rotated segment stays zero-filled, so readers stop at the first NUL byte.
+        if (segment == null || segment.remaining() < line.length + 1) {
+            rotate();
+        }
+        segment.put(line).put(NEW_LINE);
+    }
+
+    private void rotate() {
+        try {
+            close();
+            Files.createDirectories(directory);
+            var path = directory.resolve(String.format("audit-%d-%05d.log", System.currentTimeMillis(), segmentIndex++));
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            log.info("Opened audit segment {}", path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void close() throws IOException {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scheduler.dispose();
+        close();
+    }
+}
@@ -0,0 +1,267 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
+import com.dchristofolli.webfluxessentials.exception.GameError;
+import io.r2dbc.spi.ConnectionFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public class ShardedGameRepository implements GameRepository, DisposableBean {
+    private final List<Shard> shards;
+    private final ConsistentHashRing ring;
+    private final String idQuery;
+
+    public ShardedGameRepository(List<ConnectionFactory> connectionFactories, int virtualNodes, String idQuery) {
+        this.shards = connectionFactories.stream()
+            .map(Shard::new)
+            .collect(Collectors.toList());
+        this.ring = new ConsistentHashRing(shards.size(), virtualNodes);
+        this.idQuery = idQuery;
+    }
+
+    @Override
+    public <S extends Game> Mono<S> save(S game) {
+        if (game.getId() == null) {
+            return nextId().flatMap(id -> {
+                game.setId(id);
+                return shardFor(id).template.insert(game);
+            });
+        }
+        return shardFor(game.getId()).template.update(game);
+    }
+
+    @Override
+    public <S extends Game> Flux<S> saveAll(Iterable<S> games) {
+        return saveAll(Flux.fromIterable(games));
+    }
+
+    @Override
+    public <S extends Game> Flux<S> saveAll(Publisher<S> games) {
+        return Flux.from(games)
+            .flatMapSequential(game -> game.getId() == null ?
+                nextId().map(id -> {
+                    game.setId(id);
+                    return new PendingSave<>(game, true);
+                }) :
+                Mono.just(new PendingSave<>(game, false)))
+            .groupBy(pending -> ring.shardFor(pending.game.getId()))
+            .flatMap(perShard -> {
+                var shard = shards.get(perShard.key());
+                return perShard
+                    .concatMap(pending -> pending.isNew ?
+                        shard.template.insert(pending.game) :
+                        shard.template.update(pending.game))
+                    .as(shard.transactionalOperator::transactional);
+            }, shards.size());
+    }
+
+    @Override
+    public Mono<Game> findById(Integer id) {
+        return shardFor(id).template.selectOne(byId(id), Game.class);
+    }
+
+    @Override
+    public Mono<Game> findById(Publisher<Integer> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Integer id) {
+        return shardFor(id).template.exists(byId(id), Game.class);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Integer> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Flux<Game> findAll() {
+        var sortedShards = shards.stream()
+            .map(shard -> shard.template.select(Query.empty().sort(Sort.by("id")), Game.class))
+            .collect(Collectors.toList());
+        return Flux.mergeComparing(Comparator.comparing(Game::getId), sortedShards.toArray(new Flux[0]));
+    }
+
+    @Override
+    public Flux<Game> findAllById(Iterable<Integer> ids) {
+        return findAllByIds(StreamSupport.stream(ids.spliterator(), false).toArray(Integer[]::new));
+    }
+
+    @Override
+    public Flux<Game> findAllById(Publisher<Integer> ids) {
+        return Flux.from(ids).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Flux<Game> findAllByIds(Integer[] ids) {
+        return Flux.fromIterable(groupByShard(ids))
+            .filter(perShard -> !perShard.ids.isEmpty())
+            .flatMap(perShard -> perShard.shard.template.select(
+                Query.query(Criteria.where("id").in(perShard.ids)), Game.class));
+    }
+
+    @Override
+    public Flux<Game> updateAllNames(Integer[] ids, String[] names) {
+        var perShard = new ArrayList<List<Integer>>(shards.size());
+        shards.forEach(shard -> perShard.add(new ArrayList<>()));
+        for (int i = 0; i < ids.length; i++) {
+            perShard.get(ring.shardFor(ids[i])).add(i);
+        }
+        return Flux.range(0, shards.size())
+            .filter(shard -> !perShard.get(shard).isEmpty())
+            .flatMap(shard -> {
+                var indexes = perShard.get(shard);
+                return shards.get(shard).template.getDatabaseClient()
+                    .sql(UPDATE_ALL_NAMES)
+                    .bind("ids", indexes.stream().map(i -> ids[i]).toArray(Integer[]::new))
+                    .bind("names", indexes.stream().map(i -> names[i]).toArray(String[]::new))
+                    .map(row -> new Game(row.get("id", Integer.class), row.get("name", String.class)))
+                    .all()
+                    .as(shards.get(shard).transactionalOperator::transactional);
+            });
+    }
+
+    @Override
+    public Flux<Game> upsertAll(List<Game> games, UpsertKey key) {
+        if (key != UpsertKey.ID) {
+            return Flux.error(GameError.UPSERT_BY_NAME_UNSUPPORTED.exception());
+        }
+        var perShard = new ArrayList<List<Game>>(shards.size());
+        shards.forEach(shard -> perShard.add(new ArrayList<>()));
+        games.forEach(game -> perShard.get(ring.shardFor(game.getId())).add(game));
+        return Flux.range(0, shards.size())
+            .filter(shard -> !perShard.get(shard).isEmpty())
+            .flatMap(shard -> GameUpsertRepositoryImpl
+                .upsertAll(shards.get(shard).template.getDatabaseClient(), perShard.get(shard), key)
+                .as(shards.get(shard).transactionalOperator::transactional))
+            .concatWith(GameUpsertRepositoryImpl
+                .advanceIdSequence(shards.get(0).template.getDatabaseClient(), games)
+                .then(Mono.<Game>empty()));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Flux.fromIterable(shards)
+            .flatMap(shard -> shard.template.count(Query.empty(), Game.class))
+            .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Integer id) {
+        return shardFor(id).template.delete(byId(id), Game.class).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Integer> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Game game) {
+        return deleteById(game.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Integer> ids) {
+        return Flux.fromIterable(ids).flatMap(this::deleteById).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Game> games) {
+        return Flux.fromIterable(games).flatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Game> games) {
+        return Flux.from(games).flatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Flux.fromIterable(shards)
+            .flatMap(shard -> shard.template.delete(Query.empty(), Game.class))
+            .then();
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(shard -> {
+            if (shard.connectionFactory instanceof Disposable) {
+                ((Disposable) shard.connectionFactory).dispose();
+            }
+        });
+    }
+
+    private Mono<Integer> nextId() {
+        return shards.get(0).template.getDatabaseClient()
+            .sql(idQuery)
+            .map(row -> row.get(0, Long.class).intValue())
+            .one();
+    }
+
+    private Shard shardFor(int id) {
+        return shards.get(ring.shardFor(id));
+    }
+
+    private List<ShardIds> groupByShard(Integer[] ids) {
+        var grouped = new ArrayList<ShardIds>(shards.size());
+        shards.forEach(shard -> grouped.add(new ShardIds(shard)));
+        for (Integer id : ids) {
+            grouped.get(ring.shardFor(id)).ids.add(id);
+        }
+        return grouped;
+    }
+
+    private static Query byId(int id) {
+        return Query.query(Criteria.where("id").is(id));
+    }
+
+    private static final class Shard {
+        private final ConnectionFactory connectionFactory;
+        private final R2dbcEntityTemplate template;
+        private final TransactionalOperator transactionalOperator;
+
+        private Shard(ConnectionFactory connectionFactory) {
+            this.connectionFactory = connectionFactory;
+            this.template = new R2dbcEntityTemplate(connectionFactory);
+            this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        }
+    }
+
+    private static final class ShardIds {
+        private final Shard shard;
+        private final List<Integer> ids = new ArrayList<>();
+
+        private ShardIds(Shard shard) {
+            this.shard = shard;
+        }
+    }
+
+    private static final class PendingSave<S extends Game> {
+        private final S game;
+        private final boolean isNew;
+
+        private PendingSave(S game, boolean isNew) {
+            this.game = game;
+            this.isNew = isNew;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.AuditProperties;
+import com.dchristofolli.webfluxessentials.domain.AuditEntry;
+import com.dchristofolli.webfluxessentials.domain.AuditOperation;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.AuditWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class AuditJournal implements DisposableBean {
+    private final AuditWriter auditWriter;
+    private final AuditProperties properties;
+    private final ConcurrentLinkedQueue<PendingEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Disposable drainer;
+
+    public AuditJournal(AuditWriter auditWriter, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.auditWriter = auditWriter;
+        this.properties = properties;
+        this.dropped = meterRegistry.counter("game.audit.dropped");
+        this.written = meterRegistry.counter("game.audit.written");
+        this.failed = meterRegistry.counter("game.audit.failed");
+        Gauge.builder("game.audit.queue.depth", depth, AtomicInteger::get)
+            .description("Audit entries waiting to be written")
+            .register(meterRegistry);
+        this.drainer = properties.isEnabled() ?
+            Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain())
+                .subscribe() :
+            null;
+    }
+
+    public Mono<Void> record(AuditOperation operation, Game before, Game after) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return ReactiveSecurityContextHolder.getContext()
+            .flatMap(context -> Mono.justOrEmpty(context.getAuthentication()))
+            .map(authentication -> Optional.of(authentication.getName()))
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(principal -> submit(AuditEntry.builder()
+                .occurredAt(Instant.now())
+                .principal(principal.orElse(null))
+                .operation(operation)
+                .gameId(after != null ? after.getId() : before != null ? before.getId() : null)
+                .before(before)
+                .after(after)
+                .build()));
+    }
+
+    // Inside a transaction a rollback must leave no audit trail. A writer that joins the transaction gets the
+    // entries in batch-size chunks as they accumulate; any other writer receives them once the commit is done.
+    private Mono<Void> submit(AuditEntry entry) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .filter(transaction -> transaction.isSynchronizationActive() && transaction.isActualTransactionActive())
+            .flatMap(transaction -> stagedEntries(transaction).add(entry).thenReturn(true))
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .hasElement()
+            .flatMap(staged -> staged ? Mono.empty() : enqueue(entry));
+    }
+
+    private StagedEntries stagedEntries(TransactionSynchronizationManager transaction) {
+        var staged = (StagedEntries) transaction.getResource(this);
+        if (staged == null) {
+            staged = new StagedEntries();
+            transaction.bindResource(this, staged);
+            transaction.registerSynchronization(staged);
+        }
+        return staged;
+    }
+
+    private Mono<Void> enqueue(AuditEntry entry) {
+        if (depth.incrementAndGet() > properties.getCapacity()) {
+            depth.decrementAndGet();
+            dropped.increment();
+            return Mono.empty();
+        }
+        if (properties.getDurability() == AuditProperties.Durability.ASYNC) {
+            queue.offer(new PendingEntry(entry, null));
+            return Mono.empty();
+        }
+        var acknowledgement = Sinks.<Void>empty();
+        queue.offer(new PendingEntry(entry, acknowledgement));
+        return acknowledgement.asMono();
+    }
+
+    Mono<Void> drain() {
+        return Mono.defer(() -> {
+            var batch = poll();
+            if (batch.isEmpty()) {
+                return Mono.empty();
+            }
+            var entries = new ArrayList<AuditEntry>(batch.size());
+            batch.forEach(pending -> entries.add(pending.entry));
+            return write(entries)
+                .doOnSuccess(done -> batch.forEach(PendingEntry::acknowledge))
+                .doOnError(e -> batch.forEach(pending -> pending.fail(e)))
+                .onErrorResume(e -> Mono.empty())
+                .then(drain());
+        });
+    }
+
+    private Mono<Void> write(List<AuditEntry> entries) {
+        return auditWriter.write(entries)
+            .retryWhen(Retry.backoff(3, Duration.ofMillis(100)))
+            .doOnSuccess(done -> written.increment(entries.size()))
+            .doOnError(e -> {
+                log.error("Failed to write {} audit entries", entries.size(), e);
+                failed.increment(entries.size());
+            });
+    }
+
+    private List<PendingEntry> poll() {
+        var batch = new ArrayList<PendingEntry>(Math.min(depth.get(), properties.getBatchSize()));
+        PendingEntry pending;
+        while (batch.size() < properties.getBatchSize() && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        depth.addAndGet(-batch.size());
+        return batch;
+    }
+
+    @Override
+    public void destroy() {
+        if (drainer != null) {
+            drainer.dispose();
+            drain().block();
+        }
+    }
+
+    private final class StagedEntries implements TransactionSynchronization {
+        private final ConcurrentLinkedQueue<AuditEntry> entries = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger writtenInTransaction = new AtomicInteger();
+
+        private Mono<Void> add(AuditEntry entry) {
+            entries.add(entry);
+            if (size.incrementAndGet() >= properties.getBatchSize() && auditWriter.joinsTransactions()) {
+                return writeStaged();
+            }
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> beforeCommit(boolean readOnly) {
+            return auditWriter.joinsTransactions() ? writeStaged() : Mono.empty();
+        }
+
+        // Written straight to the writer rather than through the queue, so committed entries are never dropped.
+        @Override
+        public Mono<Void> afterCommit() {
+            if (auditWriter.joinsTransactions()) {
+                written.increment(writtenInTransaction.get());
+                return Mono.empty();
+            }
+            return writeStaged().onErrorResume(e -> Mono.empty());
+        }
+
+        private Mono<Void> writeStaged() {
+            return Flux.<List<AuditEntry>>generate(sink -> {
+                    var chunk = new ArrayList<AuditEntry>(properties.getBatchSize());
+                    AuditEntry entry;
+                    while (chunk.size() < properties.getBatchSize() && (entry = entries.poll()) != null) {
+                        chunk.add(entry);
+                    }
+                    size.addAndGet(-chunk.size());
+                    if (chunk.isEmpty()) {
+                        sink.complete();
+                    } else {
+                        sink.next(chunk);
+                    }
+                })
+                .concatMap(chunk -> auditWriter.joinsTransactions() ?
+                    auditWriter.write(chunk).doOnSuccess(done -> writtenInTransaction.addAndGet(chunk.size())) :
+                    write(chunk))
+                .then();
+        }
+    }
+
+    private static final class PendingEntry {
+        private final AuditEntry entry;
+        private final Sinks.Empty<Void> acknowledgement;
+
+        private PendingEntry(AuditEntry entry, Sinks.Empty<Void> acknowledgement) {
+            this.entry = entry;
+            this.acknowledgement = acknowledgement;
+        }
+
+        private void acknowledge() {
+            if (acknowledgement != null) {
+                acknowledgement.tryEmitEmpty();
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (acknowledgement != null) {
+                acknowledgement.tryEmitError(e);
+            }
+        }
+    }
+}
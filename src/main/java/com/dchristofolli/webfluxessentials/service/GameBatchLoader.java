@@ -0,0 +1,181 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.GameBatchProperties;
+import com.dchristofolli.webfluxessentials.config.ReadOnlyRouting;
+import com.dchristofolli.webfluxessentials.config.ReadYourWrites;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Slf4j
+public class GameBatchLoader implements DisposableBean {
+    private final GameRepository gameRepository;
+    private final GameBatchProperties properties;
+    private final ReadYourWrites readYourWrites;
+    private final Queue<PendingLookup> queue = Queues.<PendingLookup>unboundedMultiproducer().get();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Disposable.Composite dispatches = Disposables.composite();
+    private final Disposable ticker;
+    private volatile boolean flushRequested;
+    private volatile boolean shutdown;
+
+    public GameBatchLoader(GameRepository gameRepository, GameBatchProperties properties,
+                           ReadYourWrites readYourWrites) {
+        this.gameRepository = gameRepository;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+        // Batches are cut here rather than with bufferTimeout, so a slow database only lets the queue grow
+        // instead of failing the stream for lack of demand.
+        this.ticker = properties.isEnabled() ?
+            Flux.interval(properties.getWindow())
+                .onBackpressureDrop()
+                .subscribe(tick -> {
+                    flushRequested = true;
+                    drain();
+                }) :
+            null;
+    }
+
+    public Mono<Game> load(int id) {
+        if (ticker == null) {
+            return gameRepository.findById(id);
+        }
+        if (readYourWrites.isEnabled()) {
+            return readYourWrites.requiresPrimary()
+                .flatMap(primaryRequired -> primaryRequired ? gameRepository.findById(id) : enqueue(id));
+        }
+        return enqueue(id);
+    }
+
+    private Mono<Game> enqueue(int id) {
+        return Mono.defer(() -> {
+            var lookup = new PendingLookup(id);
+            queued.incrementAndGet();
+            queue.offer(lookup);
+            if (shutdown) {
+                failQueued();
+            } else {
+                drain();
+            }
+            return lookup.result.asMono();
+        });
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            while (!shutdown && inFlight.get() < properties.getMaxInFlight()) {
+                var available = queued.get();
+                if (available == 0 || (available < properties.getMaxSize() && !flushRequested)) {
+                    break;
+                }
+                if (available <= properties.getMaxSize()) {
+                    flushRequested = false;
+                }
+                var batch = poll();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                inFlight.incrementAndGet();
+                var dispatch = Disposables.swap();
+                dispatches.add(dispatch);
+                dispatch.update(Mono.defer(() -> dispatch(batch))
+                    .doFinally(signal -> {
+                        dispatches.remove(dispatch);
+                        inFlight.decrementAndGet();
+                        drain();
+                    })
+                    .subscribe());
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private List<PendingLookup> poll() {
+        var batch = new ArrayList<PendingLookup>(Math.min(queued.get(), properties.getMaxSize()));
+        PendingLookup lookup;
+        while (batch.size() < properties.getMaxSize() && (lookup = queue.poll()) != null) {
+            batch.add(lookup);
+        }
+        queued.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void failQueued() {
+        PendingLookup lookup;
+        while ((lookup = queue.poll()) != null) {
+            queued.decrementAndGet();
+            lookup.result.tryEmitError(shutdownException());
+        }
+    }
+
+    private Mono<Void> dispatch(List<PendingLookup> batch) {
+        var ids = batch.stream()
+            .map(lookup -> lookup.id)
+            .distinct()
+            .toArray(Integer[]::new);
+        log.debug("Loading {} games for {} pending lookups", ids.length, batch.size());
+        return gameRepository.findAllByIds(ids)
+            .collectMap(Game::getId)
+            .doOnNext(games -> complete(batch, games))
+            .doOnError(e -> batch.forEach(lookup -> lookup.result.tryEmitError(e)))
+            .doOnCancel(() -> batch.forEach(lookup -> lookup.result.tryEmitError(shutdownException())))
+            .onErrorResume(e -> Mono.empty())
+            .then()
+            .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    private void complete(List<PendingLookup> batch, Map<Integer, Game> games) {
+        for (PendingLookup lookup : batch) {
+            var game = games.get(lookup.id);
+            if (game == null) {
+                lookup.result.tryEmitEmpty();
+            } else {
+                lookup.result.tryEmitValue(game);
+            }
+        }
+    }
+
+    private static IllegalStateException shutdownException() {
+        return new IllegalStateException("Game batch loader is shut down");
+    }
+
+    @Override
+    public void destroy() {
+        if (ticker != null) {
+            shutdown = true;
+            ticker.dispose();
+            dispatches.dispose();
+            failQueued();
+        }
+    }
+
+    private static final class PendingLookup {
+        private final int id;
+        private final Sinks.One<Game> result = Sinks.one();
+
+        private PendingLookup(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.collection.IntObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class GameCatalog {
+    private final GameRepository gameRepository;
+    private final TreeSet<Long> aheadOfSequence = new TreeSet<>();
+    private final Counter resyncs;
+    private final Timer propagationLag;
+    private volatile Snapshot snapshot;
+    private volatile long gapSince;
+    private long lastSequence;
+
+    public GameCatalog(GameRepository gameRepository, MeterRegistry meterRegistry) {
+        this.gameRepository = gameRepository;
+        this.resyncs = meterRegistry.counter("game.catalog.resyncs");
+        this.propagationLag = meterRegistry.timer("game.catalog.propagation.lag");
+        Gauge.builder("game.catalog.staleness", this, GameCatalog::stalenessSeconds)
+            .description("Seconds since the catalog last saw an unbroken change sequence")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("game.catalog.size", this, catalog -> catalog.snapshot == null ? 0 : catalog.snapshot.ordered.length)
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public Game get(int id) {
+        var current = snapshot;
+        return current == null ? null : current.byId.get(id);
+    }
+
+    public Flux<Game> findAll() {
+        return Flux.fromArray(snapshot.ordered);
+    }
+
+    Mono<Void> resync(long baselineSequence) {
+        return gameRepository.findAll()
+            .reduce(new IntObjectHashMap<Game>(), (games, game) -> {
+                games.put(game.getId().intValue(), game);
+                return games;
+            })
+            .doOnNext(games -> {
+                snapshot = new Snapshot(games);
+                lastSequence = baselineSequence;
+                aheadOfSequence.clear();
+                gapSince = 0;
+                resyncs.increment();
+                log.info("Game catalog loaded {} games at sequence {}", games.size(), baselineSequence);
+            })
+            .then();
+    }
+
+    Mono<Void> invalidate(List<Change> changes) {
+        var ids = changes.stream()
+            .map(change -> change.id)
+            .distinct()
+            .toArray(Integer[]::new);
+        return gameRepository.findAllByIds(ids)
+            .collectMap(Game::getId)
+            .doOnNext(fresh -> {
+                var games = new IntObjectHashMap<Game>(snapshot.byId.size() + ids.length);
+                games.putAll(snapshot.byId);
+                for (Integer id : ids) {
+                    var game = fresh.get(id);
+                    if (game == null) {
+                        games.remove(id.intValue());
+                    } else {
+                        games.put(id.intValue(), game);
+                    }
+                }
+                snapshot = new Snapshot(games);
+                var now = System.currentTimeMillis();
+                changes.forEach(change -> {
+                    track(change.sequence);
+                    propagationLag.record(Math.max(0, now - change.emittedAtMillis), TimeUnit.MILLISECONDS);
+                });
+            })
+            .then();
+    }
+
+    boolean hasExpiredGap(Duration timeout) {
+        return gapSince != 0 && System.nanoTime() - gapSince > timeout.toNanos();
+    }
+
+    void markStale() {
+        if (snapshot != null && gapSince == 0) {
+            gapSince = System.nanoTime();
+        }
+    }
+
+    private void track(long sequence) {
+        if (sequence == lastSequence + 1) {
+            lastSequence = sequence;
+            while (aheadOfSequence.remove(lastSequence + 1)) {
+                lastSequence++;
+            }
+        } else if (sequence > lastSequence + 1) {
+            aheadOfSequence.add(sequence);
+        }
+        if (aheadOfSequence.isEmpty()) {
+            gapSince = 0;
+        } else if (gapSince == 0) {
+            gapSince = System.nanoTime();
+        }
+    }
+
+    private double stalenessSeconds() {
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        var since = gapSince;
+        return since == 0 ? 0 : (System.nanoTime() - since) / 1e9;
+    }
+
+    static final class Change {
+        private final long sequence;
+        private final int id;
+        private final long emittedAtMillis;
+
+        Change(long sequence, int id, long emittedAtMillis) {
+            this.sequence = sequence;
+            this.id = id;
+            this.emittedAtMillis = emittedAtMillis;
+        }
+
+        static Change parse(String payload) {
+            var fields = payload.split(",");
+            return new Change(Long.parseLong(fields[0]), Integer.parseInt(fields[1]), Long.parseLong(fields[2]));
+        }
+    }
+
+    private static final class Snapshot {
+        private final IntObjectHashMap<Game> byId;
+        private final Game[] ordered;
+
+        private Snapshot(IntObjectHashMap<Game> byId) {
+            this.byId = byId;
+            this.ordered = byId.values().toArray(new Game[0]);
+            Arrays.sort(ordered, Comparator.comparing(Game::getId));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.GameCatalogProperties;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnProperty(prefix = "game.catalog", name = "enabled", havingValue = "true")
+@Slf4j
+public class GameCatalogListener implements InitializingBean, DisposableBean {
+    private static final String CHANNEL = "game_catalog";
+
+    private final GameCatalog gameCatalog;
+    private final GameCatalogProperties properties;
+    private final R2dbcProperties r2dbcProperties;
+    private final DatabaseClient databaseClient;
+    private final ConcurrentLinkedQueue<GameCatalog.Change> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile boolean resyncRequested;
+    private Disposable subscription;
+
+    public GameCatalogListener(GameCatalog gameCatalog, GameCatalogProperties properties,
+                               R2dbcProperties r2dbcProperties, DatabaseClient databaseClient) {
+        this.gameCatalog = gameCatalog;
+        this.properties = properties;
+        this.r2dbcProperties = r2dbcProperties;
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        subscription = Flux.usingWhen(connect(), this::listen, PostgresqlConnection::close)
+            .doOnError(e -> {
+                log.warn("Game catalog listener failed, reconnecting", e);
+                gameCatalog.markStale();
+            })
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+            .subscribe();
+    }
+
+    // Notifications are pushed by the server and cannot be slowed down, so they are queued as they arrive and
+    // applied in batches on every window tick instead of being buffered against downstream demand.
+    private Flux<Void> listen(PostgresqlConnection connection) {
+        return connection.createStatement("LISTEN " + CHANNEL)
+            .execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .thenMany(Flux.defer(() -> {
+                resyncRequested = true;
+                return Flux.merge(
+                    connection.getNotifications()
+                        .doOnNext(notification -> accept(GameCatalog.Change.parse(notification.getParameter())))
+                        .then(),
+                    Flux.interval(properties.getBatchWindow())
+                        .onBackpressureDrop()
+                        .concatMap(tick -> process()));
+            }));
+    }
+
+    private void accept(GameCatalog.Change change) {
+        if (depth.incrementAndGet() > properties.getMaxPending()) {
+            depth.decrementAndGet();
+            resyncRequested = true;
+            return;
+        }
+        pending.offer(change);
+    }
+
+    private Mono<Void> process() {
+        return Mono.defer(() -> {
+            if (resyncRequested || !gameCatalog.isReady() || gameCatalog.hasExpiredGap(properties.getGapTimeout())) {
+                resyncRequested = false;
+                poll(Integer.MAX_VALUE);
+                return databaseClient.sql("SELECT last_value FROM game.game_catalog_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .flatMap(gameCatalog::resync);
+            }
+            var changes = poll(properties.getBatchSize());
+            return changes.isEmpty() ? Mono.empty() : gameCatalog.invalidate(changes).then(process());
+        });
+    }
+
+    private List<GameCatalog.Change> poll(int max) {
+        var changes = new ArrayList<GameCatalog.Change>(Math.min(depth.get(), properties.getBatchSize()));
+        GameCatalog.Change change;
+        while (changes.size() < max && (change = pending.poll()) != null) {
+            changes.add(change);
+        }
+        depth.addAndGet(-changes.size());
+        return changes;
+    }
+
+    private Mono<PostgresqlConnection> connect() {
+        var url = ConnectionFactoryOptions.parse(r2dbcProperties.getUrl());
+        var options = url.mutate();
+        if (r2dbcProperties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername());
+        }
+        if (r2dbcProperties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword());
+        }
+        if ("pool".equals(url.getValue(ConnectionFactoryOptions.DRIVER))) {
+            options.option(ConnectionFactoryOptions.DRIVER, (String) url.getValue(ConnectionFactoryOptions.PROTOCOL));
+        }
+        return Mono.from(ConnectionFactories.get(options.build()).create())
+            .cast(PostgresqlConnection.class);
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.dchristofolli.webfluxessentials.service;
 
+import com.dchristofolli.webfluxessentials.config.ReadOnlyRouting;
+import com.dchristofolli.webfluxessentials.domain.AuditOperation;
 import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
+import com.dchristofolli.webfluxessentials.exception.GameError;
 import com.dchristofolli.webfluxessentials.repository.GameRepository;
 import io.netty.util.internal.StringUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 @Service
@@ -19,44 +23,85 @@ import java.util.List;
 @Slf4j
 public class GameService {
     private final GameRepository gameRepository;
+    private final GameBatchLoader gameBatchLoader;
+    private final GameWriteCoalescer gameWriteCoalescer;
+    private final GameCatalog gameCatalog;
+    private final AuditJournal auditJournal;
 
     public Flux<Game> findAll() {
-        return gameRepository.findAll();
+        if (gameCatalog.isReady()) {
+            return gameCatalog.findAll();
+        }
+        return gameRepository.findAll()
+            .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     public Mono<Game> findById(int id) {
-        return gameRepository.findById(id)
+        var cached = gameCatalog.isReady() ? gameCatalog.get(id) : null;
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return gameBatchLoader.load(id)
+            .contextWrite(ReadOnlyRouting::readOnly)
             .switchIfEmpty(monoResponseStatusNotFoundException());
     }
 
     public Mono<Game> save(Game game) {
-        return gameRepository.save(game);
+        return gameRepository.save(game)
+            .flatMap(saved -> auditJournal.record(AuditOperation.CREATE, null, saved).thenReturn(saved));
     }
 
     public Mono<Void> update(Game game) {
-        return findById(game.getId())
-            .flatMap(gameRepository::save)
-            .then();
+        if (gameWriteCoalescer.isEnabled()) {
+            return gameWriteCoalescer.submit(game)
+                .switchIfEmpty(monoResponseStatusNotFoundException())
+                .flatMap(previous -> auditJournal.record(AuditOperation.UPDATE, previous, game));
+        }
+        return findForWrite(game.getId())
+            .flatMap(existing -> gameRepository.save(game)
+                .flatMap(saved -> auditJournal.record(AuditOperation.UPDATE, existing, saved)));
     }
 
     public Mono<Void> delete(int id) {
-        return findById(id)
-            .flatMap(gameRepository::delete);
+        return findForWrite(id)
+            .flatMap(existing -> gameRepository.delete(existing)
+                .then(auditJournal.record(AuditOperation.DELETE, existing, null)));
     }
 
     @Transactional
-    public Flux<Game> saveAll(List<Game> games) {
-        return gameRepository.saveAll(games)
-            .doOnNext(this::throwResponseStatusExceptionWhenEmptyName);
+    public Flux<Game> saveAll(Flux<Game> games) {
+        return gameRepository.saveAll(games.doOnNext(this::throwResponseStatusExceptionWhenEmptyName))
+            .concatMap(saved -> auditJournal.record(AuditOperation.CREATE, null, saved).thenReturn(saved));
+    }
+
+    @Transactional
+    public Flux<Game> upsertAll(List<Game> games, UpsertKey key) {
+        return Flux.defer(() -> {
+            var latestByKey = new LinkedHashMap<Object, Game>();
+            for (Game game : games) {
+                throwResponseStatusExceptionWhenEmptyName(game);
+                if (key == UpsertKey.ID && game.getId() == null) {
+                    throw GameError.ID_REQUIRED.exception();
+                }
+                latestByKey.put(key == UpsertKey.ID ? game.getId() : game.getName(), game);
+            }
+            return gameRepository.upsertAll(new ArrayList<>(latestByKey.values()), key)
+                .concatMap(saved -> auditJournal.record(AuditOperation.UPSERT, null, saved).thenReturn(saved));
+        });
+    }
+
+    private Mono<Game> findForWrite(int id) {
+        return gameRepository.findById(id)
+            .switchIfEmpty(monoResponseStatusNotFoundException());
     }
 
     private void throwResponseStatusExceptionWhenEmptyName(Game game) {
         if (StringUtil.isNullOrEmpty(game.getName())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Game name is required");
+            throw GameError.NAME_REQUIRED.exception();
         }
     }
 
     private <T> Mono<T> monoResponseStatusNotFoundException() {
-        return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found"));
+        return Mono.error(GameError.NOT_FOUND::exception);
     }
 }
@@ -0,0 +1,150 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.GameWriteCoalescingProperties;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class GameWriteCoalescer implements DisposableBean {
+    private final GameRepository gameRepository;
+    private final GameWriteCoalescingProperties properties;
+    private final ConcurrentHashMap<Integer, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final Counter requestedUpdates;
+    private final Counter appliedUpdates;
+    private final Disposable flusher;
+
+    public GameWriteCoalescer(GameRepository gameRepository, GameWriteCoalescingProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.gameRepository = gameRepository;
+        this.properties = properties;
+        this.requestedUpdates = meterRegistry.counter("game.update.coalescing.requested");
+        this.appliedUpdates = meterRegistry.counter("game.update.coalescing.applied");
+        Gauge.builder("game.update.coalescing.ratio", this, GameWriteCoalescer::coalescingRatio)
+            .description("Requested updates per row actually written")
+            .register(meterRegistry);
+        this.flusher = properties.isEnabled() ?
+            Flux.interval(properties.getWindow())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe() :
+            null;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Mono<Game> submit(Game game) {
+        return Mono.defer(() -> {
+            requestedUpdates.increment();
+            var acknowledgement = Sinks.<Game>one();
+            pending.compute(game.getId(), (id, existing) -> existing == null ?
+                new PendingWrite(game, acknowledgement) :
+                existing.overwrite(game, acknowledgement));
+            return acknowledgement.asMono();
+        });
+    }
+
+    Mono<Void> flush() {
+        var writes = new ArrayList<PendingWrite>(pending.size());
+        for (Integer id : pending.keySet()) {
+            var write = pending.remove(id);
+            if (write != null) {
+                writes.add(write);
+            }
+        }
+        if (writes.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(writes)
+            .buffer(properties.getMaxBatchSize())
+            .concatMap(this::apply)
+            .then();
+    }
+
+    private Mono<Void> apply(List<PendingWrite> chunk) {
+        var ids = new Integer[chunk.size()];
+        var names = new String[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            ids[i] = chunk.get(i).game.getId();
+            names[i] = chunk.get(i).game.getName();
+        }
+        return gameRepository.updateAllNames(ids, names)
+            .collectMap(Game::getId)
+            .doOnNext(previous -> {
+                appliedUpdates.increment(previous.size());
+                chunk.forEach(write -> write.acknowledge(previous.get(write.game.getId())));
+            })
+            .then()
+            .onErrorResume(e -> {
+                // One bad row fails the whole statement, so retry row by row to fail only the offending write.
+                if (chunk.size() > 1) {
+                    log.warn("Failed to apply {} coalesced game updates, retrying one by one", chunk.size(), e);
+                    return Flux.fromIterable(chunk)
+                        .concatMap(write -> apply(List.of(write)))
+                        .then();
+                }
+                log.error("Failed to apply coalesced update of game {}", ids[0], e);
+                chunk.forEach(write -> write.fail(e));
+                return Mono.empty();
+            });
+    }
+
+    private double coalescingRatio() {
+        var applied = appliedUpdates.count();
+        return applied == 0 ? 0 : requestedUpdates.count() / applied;
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.dispose();
+            flush().block();
+        }
+    }
+
+    private static final class PendingWrite {
+        private Game game;
+        private final List<Sinks.One<Game>> acknowledgements = new ArrayList<>(1);
+
+        private PendingWrite(Game game, Sinks.One<Game> acknowledgement) {
+            this.game = game;
+            this.acknowledgements.add(acknowledgement);
+        }
+
+        private PendingWrite overwrite(Game game, Sinks.One<Game> acknowledgement) {
+            this.game = game;
+            this.acknowledgements.add(acknowledgement);
+            return this;
+        }
+
+        private void acknowledge(Game previous) {
+            acknowledgements.forEach(acknowledgement -> {
+                if (previous == null) {
+                    acknowledgement.tryEmitEmpty();
+                } else {
+                    acknowledgement.tryEmitValue(previous);
+                }
+            });
+        }
+
+        private void fail(Throwable e) {
+            acknowledgements.forEach(acknowledgement -> acknowledgement.tryEmitError(e));
+        }
+    }
+}
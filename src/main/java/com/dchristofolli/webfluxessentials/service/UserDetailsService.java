@@ -1,5 +1,6 @@
 package com.dchristofolli.webfluxessentials.service;
 
+import com.dchristofolli.webfluxessentials.config.ReadOnlyRouting;
 import com.dchristofolli.webfluxessentials.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
@@ -15,6 +16,7 @@ public class UserDetailsService implements ReactiveUserDetailsService {
     @Override
     public Mono<UserDetails> findByUsername(String username) {
         return userRepository.findByUsername(username)
-            .cast(UserDetails.class);
+            .cast(UserDetails.class)
+            .contextWrite(ReadOnlyRouting::readOnly);
     }
 }
@@ -0,0 +1,14 @@
+CREATE SCHEMA IF NOT EXISTS game;
+
+CREATE TABLE IF NOT EXISTS game.game (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY (CACHE 50) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS game."user" (
+    id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    username    VARCHAR(100) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    authorities VARCHAR(255) NOT NULL
+);
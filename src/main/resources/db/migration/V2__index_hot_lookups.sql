@@ -0,0 +1,5 @@
+CREATE UNIQUE INDEX IF NOT EXISTS user_username_uidx ON game."user" (username);
+
+CREATE INDEX IF NOT EXISTS game_name_idx ON game.game (name);
+
+CREATE INDEX IF NOT EXISTS game_name_lower_idx ON game.game (lower(name) text_pattern_ops);
@@ -0,0 +1,16 @@
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(quote_literal(name), ', ') INTO duplicates
+    FROM (SELECT name FROM game.game GROUP BY name HAVING count(*) > 1 ORDER BY name LIMIT 20) AS duplicated;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'game.game has duplicate names (%), rename or remove them before game names become unique',
+            duplicates;
+    END IF;
+END;
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS game_name_uidx ON game.game (name);
+
+DROP INDEX IF EXISTS game.game_name_idx;
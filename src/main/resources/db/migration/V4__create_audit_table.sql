@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS game.audit (
+    id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    occurred_at  TIMESTAMPTZ  NOT NULL,
+    principal    VARCHAR(100),
+    operation    VARCHAR(16)  NOT NULL,
+    game_id      INTEGER,
+    before_state JSONB,
+    after_state  JSONB
+);
+
+CREATE INDEX IF NOT EXISTS audit_game_id_idx ON game.audit (game_id, occurred_at);
+
+CREATE OR REPLACE FUNCTION game.reject_audit_change() RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'game.audit is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS audit_append_only ON game.audit;
+
+CREATE TRIGGER audit_append_only
+    BEFORE UPDATE OR DELETE ON game.audit
+    FOR EACH ROW EXECUTE FUNCTION game.reject_audit_change();
@@ -0,0 +1,24 @@
+CREATE SEQUENCE IF NOT EXISTS game.game_catalog_seq;
+
+CREATE OR REPLACE FUNCTION game.notify_game_catalog() RETURNS TRIGGER AS $$
+DECLARE
+    changed_id INTEGER;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_id := OLD.id;
+    ELSE
+        changed_id := NEW.id;
+    END IF;
+    PERFORM pg_notify('game_catalog', nextval('game.game_catalog_seq') || ',' || changed_id || ',' ||
+        (extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS game_catalog_notify ON game.game;
+
+-- Deferred to commit time so rolled-back transactions never draw a sequence number and leave a gap.
+CREATE CONSTRAINT TRIGGER game_catalog_notify
+    AFTER INSERT OR UPDATE OR DELETE ON game.game
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION game.notify_game_catalog();
@@ -0,0 +1,38 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import org.junit.jupiter.api.*;
+
+class BlockingCallRecorderTest {
+    private BlockingCallRecorder recorder;
+
+    @BeforeEach
+    void setup() {
+        var properties = new BlockHoundProperties();
+        properties.setSampleRate(2);
+        properties.setRecentCalls(3);
+        recorder = new BlockingCallRecorder(properties);
+    }
+
+    @Test
+    @DisplayName("record counts every call and fingerprints only the sampled ones")
+    void record_CountsEveryCallAndSamplesStacks_WhenCalled() {
+        for (int i = 0; i < 10; i++) {
+            recorder.record("java.lang.Thread", "sleep");
+        }
+
+        Assertions.assertEquals(10, recorder.total());
+        Assertions.assertEquals(10L, recorder.callsByMethod().get("java.lang.Thread#sleep"));
+        Assertions.assertEquals(1, recorder.sites().size());
+        Assertions.assertEquals(5L, recorder.sites().get(0).get("samples"));
+    }
+
+    @Test
+    @DisplayName("recentCalls keeps only the configured number of sampled calls")
+    void recentCalls_IsBounded_WhenMoreCallsThanCapacity() {
+        for (int i = 0; i < 20; i++) {
+            recorder.record("java.io.FileInputStream", "readBytes");
+        }
+
+        Assertions.assertEquals(3, recorder.recentCalls().size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class ReplicaRoutingConnectionFactoryTest {
+    @Mock
+    private ConnectionFactory primary;
+    @Mock
+    private ConnectionFactory replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingProperties properties;
+    private ReplicaRoutingConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setup() {
+        BDDMockito.doReturn(Mono.just(primaryConnection)).when(primary).create();
+        BDDMockito.doReturn(Mono.just(replicaConnection)).when(replica).create();
+        BDDMockito.doReturn(Mono.empty()).when(replicaConnection).close();
+        properties = new ReplicaRoutingProperties();
+        properties.setHealthCheckInterval(Duration.ofHours(1));
+        connectionFactory = new ReplicaRoutingConnectionFactory(primary, List.of(replica), properties,
+            new ReadYourWrites(properties));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("create routes to the primary when the context is not read-only")
+    void create_RoutesToPrimary_WhenNotReadOnly() {
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+            .expectNext(primaryConnection)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("create routes to a replica when the context is read-only")
+    void create_RoutesToReplica_WhenReadOnly() {
+        StepVerifier.create(Mono.from(connectionFactory.create()).contextWrite(ReadOnlyRouting::readOnly))
+            .assertNext(connection -> Assertions.assertNotSame(primaryConnection, connection))
+            .verifyComplete();
+        BDDMockito.verify(replica).create();
+    }
+
+    @Test
+    @DisplayName("create falls back to the primary when no replica is healthy")
+    void create_RoutesToPrimary_WhenReplicaIsUnhealthy() {
+        BDDMockito.doReturn(Mono.just(false)).when(replicaConnection).validate(ValidationDepth.REMOTE);
+        StepVerifier.create(connectionFactory.checkHealth())
+            .verifyComplete();
+
+        StepVerifier.create(Mono.from(connectionFactory.create()).contextWrite(ReadOnlyRouting::readOnly))
+            .expectNext(primaryConnection)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("create routes reads to the primary within the read-your-writes window of the principal")
+    void create_RoutesToPrimary_WhenPrincipalWroteRecently() {
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        var authentication = new TestingAuthenticationToken("admin", "game");
+
+        StepVerifier.create(Mono.from(connectionFactory.create())
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+            .expectNext(primaryConnection)
+            .verifyComplete();
+        StepVerifier.create(Mono.from(connectionFactory.create())
+                .contextWrite(ReadOnlyRouting::readOnly)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+            .expectNext(primaryConnection)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("checkHealth probes beneath the replica pool and destroy disposes every pool")
+    void checkHealth_ProbesUnpooled_WhenReplicaIsPooled() {
+        var pool = Mockito.mock(ConnectionFactory.class,
+            Mockito.withSettings().extraInterfaces(Wrapped.class, Disposable.class));
+        BDDMockito.doReturn(replica).when((Wrapped<?>) pool).unwrap();
+        BDDMockito.doReturn(Mono.just(true)).when(replicaConnection).validate(ValidationDepth.REMOTE);
+        connectionFactory.destroy();
+        connectionFactory = new ReplicaRoutingConnectionFactory(primary, List.of(pool), properties,
+            new ReadYourWrites(properties));
+
+        StepVerifier.create(connectionFactory.checkHealth())
+            .verifyComplete();
+        connectionFactory.destroy();
+
+        Mockito.verify(pool, Mockito.never()).create();
+        Mockito.verify(replica).create();
+        Mockito.verify((Disposable) pool).dispose();
+    }
+}
@@ -0,0 +1,77 @@
+package com.dchristofolli.webfluxessentials.config;
+
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class RequestTimingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SAMPLED_PARENT = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+
+    @Test
+    @DisplayName("time records the phase when the request is sampled")
+    void time_RecordsPhase_WhenTimingIsInContext() {
+        var timing = RequestTiming.start(SAMPLED_PARENT, 1, false);
+
+        StepVerifier.create(RequestTiming.time(RequestTiming.Phase.QUERY, Mono.just(1))
+                .contextWrite(context -> RequestTiming.with(context, timing)))
+            .expectNext(1)
+            .verifyComplete();
+
+        Assertions.assertTrue(timing.duration(RequestTiming.Phase.QUERY) > 0);
+        Assertions.assertTrue(timing.serverTiming().startsWith("db;desc=\"Query\";dur="));
+        Assertions.assertTrue(timing.serverTiming().contains(", total;dur="));
+    }
+
+    @Test
+    @DisplayName("start applies the sample rate and follows a sampled parent only when allowed to")
+    void start_AppliesSampling_WhenRequestArrives() {
+        Assertions.assertNull(RequestTiming.start("00-" + TRACE_ID + "-00f067aa0ba902b7-00", 1, true));
+        Assertions.assertNull(RequestTiming.start(SAMPLED_PARENT, 0, false));
+        Assertions.assertNotNull(RequestTiming.start(SAMPLED_PARENT, 0, true));
+        Assertions.assertNull(RequestTiming.start(null, 0, true));
+        Assertions.assertNotNull(RequestTiming.start(null, 1, false));
+    }
+
+    @Test
+    @DisplayName("finish returns the server span joined to the caller's trace followed by the phase spans")
+    void finish_ReturnsRootAndPhaseSpans_WhenParentIsGiven() {
+        var timing = RequestTiming.start(SAMPLED_PARENT, 1, false);
+        timing.record(RequestTiming.Phase.AUTH, System.nanoTime() - 1_000_000, System.nanoTime());
+
+        var spans = timing.finish("GET /games", Map.of("http.status_code", "200"));
+
+        Assertions.assertEquals(2, spans.size());
+        Assertions.assertEquals("GET /games", spans.get(0).getName());
+        Assertions.assertEquals("Authentication", spans.get(1).getName());
+        Assertions.assertTrue(spans.stream().allMatch(span -> TRACE_ID.equals(span.getTraceId())));
+    }
+
+    @Test
+    @DisplayName("filter adds the Server-Timing header and exports spans for sampled requests")
+    void filter_AddsServerTimingHeader_WhenSampled() {
+        var properties = new RequestTimingProperties();
+        properties.setSampleRate(1);
+        var exporter = new InMemorySpanExporter(16);
+        var filter = new RequestTimingFilter(properties, exporter);
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/games"));
+
+        StepVerifier.create(filter.filter(exchange, chained -> {
+                chained.getResponse().setStatusCode(HttpStatus.OK);
+                return RequestTiming.time(RequestTiming.Phase.QUERY, Mono.<Void>empty())
+                    .then(chained.getResponse().setComplete());
+            }))
+            .verifyComplete();
+
+        Assertions.assertNotNull(exchange.getResponse().getHeaders().getFirst(RequestTimingFilter.SERVER_TIMING));
+        Assertions.assertEquals(List.of("GET /games", "Query"),
+            exporter.spans().stream().map(TraceSpan::getName).collect(Collectors.toList()));
+    }
+}
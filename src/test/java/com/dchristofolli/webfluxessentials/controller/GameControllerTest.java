@@ -1,6 +1,8 @@
 package com.dchristofolli.webfluxessentials.controller;
 
+import com.dchristofolli.webfluxessentials.domain.BatchSummary;
 import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
 import com.dchristofolli.webfluxessentials.service.GameService;
 import com.dchristofolli.webfluxessentials.util.GameCreator;
 import org.junit.jupiter.api.*;
@@ -44,13 +46,14 @@ class GameControllerTest {
             .thenReturn(Mono.just(game));
         BDDMockito.when(gameService.save(GameCreator.createGameToBeSaved()))
             .thenReturn(Mono.just(game));
-        BDDMockito.when(gameService.saveAll(List.of(GameCreator.createGameToBeSaved(),
-                GameCreator.createGameToBeSaved())))
+        BDDMockito.when(gameService.saveAll(ArgumentMatchers.<Flux<Game>>any()))
             .thenReturn(Flux.just(game, game));
         BDDMockito.when(gameService.delete(ArgumentMatchers.anyInt()))
             .thenReturn(Mono.empty());
         BDDMockito.when(gameService.update(GameCreator.createValidGame()))
             .thenReturn(Mono.empty());
+        BDDMockito.when(gameService.upsertAll(List.of(GameCreator.createValidGame()), UpsertKey.ID))
+            .thenReturn(Flux.just(game));
     }
 
     @Test
@@ -114,12 +117,21 @@ class GameControllerTest {
             .verifyComplete();
     }
     @Test
-    @DisplayName("saveBatch creates a list of game when successful")
+    @DisplayName("saveBatch creates a list of game and returns how many were saved when successful")
     void saveBatch_CreatesListOfGame_WhenSuccessful() {
         Game gameToBeSaved = GameCreator.createGameToBeSaved();
-        StepVerifier.create(gameController.saveBatch(List.of(gameToBeSaved, gameToBeSaved)))
+        StepVerifier.create(gameController.saveBatch(Flux.just(gameToBeSaved, gameToBeSaved)))
             .expectSubscription()
-            .expectNext(game, game)
+            .expectNext(new BatchSummary(2))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("upsertBatch returns the games that were inserted or changed")
+    void upsertBatch_ReturnsChangedGames_WhenSuccessful() {
+        StepVerifier.create(gameController.upsertBatch(UpsertKey.ID, List.of(GameCreator.createValidGame())))
+            .expectSubscription()
+            .expectNext(game)
             .verifyComplete();
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.dchristofolli.webfluxessentials.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+class GameErrorTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("pre-encoded body carries the same fields as the full error attributes")
+    void body_MatchesErrorAttributes_WhenNotFound() throws IOException {
+        var body = objectMapper.readValue(
+            GameError.NOT_FOUND.body("2026-10-19T10:15:30.000+00:00", "/games/\"1\"", "a1b2c3d4-7"), Map.class);
+
+        Assertions.assertEquals(404, body.get("status"));
+        Assertions.assertEquals("Not Found", body.get("error"));
+        Assertions.assertEquals("404 NOT_FOUND \"Game not found\"", body.get("message"));
+        Assertions.assertEquals(CustomAttributes.DEVELOPER_MESSAGE, body.get("developerMessage"));
+        Assertions.assertEquals("2026-10-19T10:15:30.000+00:00", body.get("timestamp"));
+        Assertions.assertEquals("/games/\"1\"", body.get("path"));
+        Assertions.assertEquals("a1b2c3d4-7", body.get("requestId"));
+    }
+
+    @Test
+    @DisplayName("exception does not capture a stack trace")
+    void exception_IsStackless_WhenCreated() {
+        var exception = GameError.NAME_REQUIRED.exception();
+
+        Assertions.assertEquals(0, exception.getStackTrace().length);
+        Assertions.assertEquals(GameError.NAME_REQUIRED, exception.getError());
+        Assertions.assertEquals(400, exception.getRawStatusCode());
+    }
+}
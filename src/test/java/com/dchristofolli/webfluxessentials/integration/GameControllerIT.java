@@ -1,6 +1,7 @@
 package com.dchristofolli.webfluxessentials.integration;
 
 import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
 import com.dchristofolli.webfluxessentials.domain.User;
 import com.dchristofolli.webfluxessentials.repository.GameRepository;
 import com.dchristofolli.webfluxessentials.service.UserDetailsService;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
@@ -63,9 +65,8 @@ class GameControllerIT {
             .thenReturn(Mono.just(game));
         BDDMockito.when(gameRepository.save(GameCreator.createGameToBeSaved()))
             .thenReturn(Mono.just(game));
-        BDDMockito.when(gameRepository.saveAll(List.of(GameCreator.createGameToBeSaved(),
-                GameCreator.createGameToBeSaved())))
-            .thenReturn(Flux.just(game, game));
+        BDDMockito.when(gameRepository.saveAll(ArgumentMatchers.<Publisher<Game>>any()))
+            .thenAnswer(invocation -> Flux.from(invocation.<Publisher<Game>>getArgument(0)).map(saved -> game));
         BDDMockito.when(gameRepository.delete(ArgumentMatchers.any(Game.class)))
             .thenReturn(Mono.empty());
         BDDMockito.when(gameRepository.save(GameCreator.createValidGame()))
@@ -146,7 +147,7 @@ class GameControllerIT {
     }
 
     @Test
-    @DisplayName("saveBatch creates a list of game when successful")
+    @DisplayName("saveBatch creates a list of game and returns how many were saved when successful")
     void saveBatch_CreatesListOfGame_WhenSuccessful() {
         var gameToBeSaved = GameCreator.createGameToBeSaved();
         testClientUser
@@ -156,18 +157,14 @@ class GameControllerIT {
             .body(BodyInserters.fromValue(List.of(gameToBeSaved, gameToBeSaved)))
             .exchange()
             .expectStatus().isCreated()
-            .expectBodyList(Game.class)
-            .hasSize(2)
-            .contains(game);
+            .expectBody()
+            .jsonPath("$.saved").isEqualTo(2);
     }
 
     @Test
     @DisplayName("saveBatch returns mono error when one of games in the list contains null or empty name")
     void saveBatch_ReturnsMonoError_WhenContainsInvalidName() {
         var gameToBeSaved = GameCreator.createGameToBeSaved();
-        BDDMockito.when(gameRepository.saveAll(List.of(gameToBeSaved,
-                gameToBeSaved.withName(""))))
-            .thenReturn(Flux.just(game, game.withName("")));
         testClientUser
             .post()
             .uri("/games/batch")
@@ -179,6 +176,23 @@ class GameControllerIT {
             .jsonPath("$.status").isEqualTo(400);
     }
 
+    @Test
+    @DisplayName("upsertBatch returns only the games that were inserted or changed")
+    void upsertBatch_ReturnsChangedGames_WhenSuccessful() {
+        BDDMockito.when(gameRepository.upsertAll(List.of(game), UpsertKey.ID))
+            .thenReturn(Flux.just(game));
+        testClientUser
+            .put()
+            .uri("/games/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(BodyInserters.fromValue(List.of(game, game)))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Game.class)
+            .hasSize(1)
+            .contains(game);
+    }
+
     @Test
     @DisplayName("save returns mono error with bad request when name is empty")
     void save_ReturnsError_WhenNameIsEmpty() {
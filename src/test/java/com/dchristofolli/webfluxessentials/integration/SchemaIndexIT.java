@@ -0,0 +1,63 @@
+package com.dchristofolli.webfluxessentials.integration;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "game.schema.migrate=true")
+class SchemaIndexIT {
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    @DisplayName("findByUsername uses the unique username index")
+    void findByUsername_UsesIndexScan() {
+        Assertions.assertTrue(plan("SELECT * FROM game.\"user\" WHERE username = 'admin'")
+            .contains("user_username_uidx"));
+    }
+
+    @Test
+    @DisplayName("findById uses the primary key index")
+    void findById_UsesIndexScan() {
+        Assertions.assertTrue(plan("SELECT * FROM game.game WHERE id = 1").contains("Index Scan"));
+    }
+
+    @Test
+    @DisplayName("batched findAllByIds uses the primary key index")
+    void findAllByIds_UsesIndexScan() {
+        Assertions.assertTrue(plan("SELECT * FROM game.game WHERE id = ANY(ARRAY[1, 2, 3])").contains("Index"));
+    }
+
+    @Test
+    @DisplayName("name lookups use the name indexes")
+    void findByName_UsesIndexScan() {
+        Assertions.assertTrue(plan("SELECT * FROM game.game WHERE name = 'Hades'").contains("game_name_uidx"));
+        Assertions.assertTrue(plan("SELECT * FROM game.game WHERE lower(name) LIKE 'hades%'")
+            .contains("game_name_lower_idx"));
+    }
+
+    private String plan(String query) {
+        return databaseClient.inConnection(connection -> execute(connection, "SET enable_seqscan = off")
+                .thenMany(Flux.from(connection.createStatement("EXPLAIN " + query).execute())
+                    .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class))))
+                .collect(Collectors.joining(System.lineSeparator()))
+                .flatMap(plan -> execute(connection, "RESET enable_seqscan").thenReturn(plan)))
+            .block();
+    }
+
+    private Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+            .flatMap(Result::getRowsUpdated)
+            .then();
+    }
+}
@@ -0,0 +1,126 @@
+package com.dchristofolli.webfluxessentials.repository;
+
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
+import com.dchristofolli.webfluxessentials.exception.GameError;
+import com.dchristofolli.webfluxessentials.exception.GameException;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.*;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class ShardedGameRepositoryTest {
+    private static final int SHARDS = 3;
+    private static final int VIRTUAL_NODES = 16;
+
+    private List<ConnectionFactory> connectionFactories;
+    private ShardedGameRepository shardedGameRepository;
+
+    @BeforeEach
+    void setup(TestInfo testInfo) {
+        var database = testInfo.getTestMethod().orElseThrow().getName();
+        connectionFactories = IntStream.range(0, SHARDS)
+            .mapToObj(shard -> ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + database + shard + ";DB_CLOSE_DELAY=-1"))
+            .collect(Collectors.toList());
+        Flux.fromIterable(connectionFactories)
+            .concatMap(connectionFactory -> DatabaseClient.create(connectionFactory)
+                .sql("CREATE SCHEMA IF NOT EXISTS game; " +
+                    "CREATE TABLE IF NOT EXISTS game.game (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL); " +
+                    "CREATE SEQUENCE IF NOT EXISTS game.game_id_seq")
+                .then())
+            .blockLast();
+        shardedGameRepository = new ShardedGameRepository(connectionFactories, VIRTUAL_NODES,
+            "SELECT NEXT VALUE FOR game.game_id_seq");
+    }
+
+    @Test
+    @DisplayName("save assigns an id and stores the game only on the shard owning it")
+    void save_StoresGameOnOwningShard_WhenSuccessful() {
+        var saved = shardedGameRepository.save(Game.builder().name("Hades").build()).block();
+
+        Assertions.assertNotNull(saved.getId());
+        var owner = new ConsistentHashRing(SHARDS, VIRTUAL_NODES).shardFor(saved.getId());
+        for (int shard = 0; shard < SHARDS; shard++) {
+            var rows = DatabaseClient.create(connectionFactories.get(shard))
+                .sql("SELECT COUNT(*) FROM game.game")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+            Assertions.assertEquals(shard == owner ? 1L : 0L, rows);
+        }
+        StepVerifier.create(shardedGameRepository.findById(saved.getId()))
+            .expectNext(saved)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("upsertAll rejects upserting by name with a bad request")
+    void upsertAll_ReturnsBadRequest_WhenKeyIsName() {
+        StepVerifier.create(shardedGameRepository.upsertAll(List.of(Game.builder().name("Hades").build()),
+                UpsertKey.NAME))
+            .expectErrorMatches(e -> e instanceof GameException &&
+                ((GameException) e).getError() == GameError.UPSERT_BY_NAME_UNSUPPORTED)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("saveAll rolls back every shard when the stream fails after games were written")
+    void saveAll_RollsBackAllShards_WhenStreamFails() {
+        var games = Flux.range(1, 1200)
+            .map(i -> Game.builder().name("Game " + i).build())
+            .concatWith(Flux.error(new IllegalArgumentException("invalid game")));
+
+        StepVerifier.create(shardedGameRepository.saveAll(games))
+            .thenConsumeWhile(game -> true)
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        StepVerifier.create(shardedGameRepository.count())
+            .expectNext(0L)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("saveAll spreads games across shards and findAll merges them ordered by id")
+    void findAll_ReturnsGamesOrderedById_WhenSpreadAcrossShards() {
+        var games = IntStream.rangeClosed(1, 30)
+            .mapToObj(i -> Game.builder().name("Game " + i).build())
+            .collect(Collectors.toList());
+
+        StepVerifier.create(shardedGameRepository.saveAll(games))
+            .expectNextCount(30)
+            .verifyComplete();
+
+        StepVerifier.create(shardedGameRepository.findAll().map(Game::getId).collectList())
+            .assertNext(ids -> Assertions.assertEquals(
+                IntStream.rangeClosed(1, 30).boxed().collect(Collectors.toList()), ids))
+            .verifyComplete();
+        StepVerifier.create(shardedGameRepository.count())
+            .expectNext(30L)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("update and delete are routed to the shard owning the id")
+    void updateAndDelete_RouteToOwningShard_WhenGameExists() {
+        var saved = shardedGameRepository.save(Game.builder().name("Celeste").build()).block();
+
+        StepVerifier.create(shardedGameRepository.save(saved.withName("Celeste Farewell")))
+            .expectNextCount(1)
+            .verifyComplete();
+        StepVerifier.create(shardedGameRepository.findById(saved.getId()).map(Game::getName))
+            .expectNext("Celeste Farewell")
+            .verifyComplete();
+        StepVerifier.create(shardedGameRepository.delete(saved))
+            .verifyComplete();
+        StepVerifier.create(shardedGameRepository.findById(saved.getId()))
+            .verifyComplete();
+    }
+}
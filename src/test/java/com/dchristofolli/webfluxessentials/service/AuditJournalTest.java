@@ -0,0 +1,187 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.AuditProperties;
+import com.dchristofolli.webfluxessentials.domain.AuditEntry;
+import com.dchristofolli.webfluxessentials.domain.AuditOperation;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.AuditWriter;
+import com.dchristofolli.webfluxessentials.util.GameCreator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class AuditJournalTest {
+    @Mock
+    private AuditWriter auditWriter;
+
+    private AuditJournal auditJournal;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Game game = GameCreator.createValidGame();
+    private final Game updatedGame = GameCreator.createValidUpdatedGame();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        BDDMockito.when(auditWriter.write(ArgumentMatchers.any()))
+            .thenReturn(Mono.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditJournal.destroy();
+    }
+
+    @Test
+    @DisplayName("drain writes queued entries in batches of the configured size")
+    void drain_WritesInBatches_WhenQueueHoldsMoreThanOneBatch() {
+        auditJournal = journal(AuditProperties.Durability.ASYNC, 10, 2);
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(auditJournal.record(AuditOperation.CREATE, null, game))
+                .verifyComplete();
+        }
+        Assertions.assertEquals(3.0, meterRegistry.get("game.audit.queue.depth").gauge().value());
+
+        StepVerifier.create(auditJournal.drain())
+            .verifyComplete();
+
+        Mockito.verify(auditWriter, Mockito.times(2)).write(ArgumentMatchers.any());
+        Assertions.assertEquals(3.0, meterRegistry.get("game.audit.written").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("game.audit.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("record drops and counts entries when the queue is full")
+    void record_DropsEntry_WhenQueueIsFull() {
+        auditJournal = journal(AuditProperties.Durability.ASYNC, 1, 10);
+        StepVerifier.create(auditJournal.record(AuditOperation.CREATE, null, game))
+            .verifyComplete();
+        StepVerifier.create(auditJournal.record(AuditOperation.CREATE, null, game))
+            .verifyComplete();
+
+        Assertions.assertEquals(1.0, meterRegistry.get("game.audit.dropped").counter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("game.audit.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("record waits for the batch to be written in group commit mode")
+    void record_CompletesAfterDrain_WhenDurabilityIsGroupCommit() {
+        auditJournal = journal(AuditProperties.Durability.GROUP_COMMIT, 10, 10);
+        var recorded = auditJournal.record(AuditOperation.UPDATE, game, updatedGame).toFuture();
+        Assertions.assertFalse(recorded.isDone());
+
+        StepVerifier.create(auditJournal.drain())
+            .verifyComplete();
+
+        Assertions.assertTrue(recorded.isDone());
+        Assertions.assertFalse(recorded.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("record captures the authenticated principal and both game states")
+    void record_CapturesPrincipal_WhenAuthenticated() {
+        auditJournal = journal(AuditProperties.Durability.ASYNC, 10, 10);
+        StepVerifier.create(auditJournal.record(AuditOperation.UPDATE, game, updatedGame)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                    new TestingAuthenticationToken("admin", null))))
+            .verifyComplete();
+
+        StepVerifier.create(auditJournal.drain())
+            .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditEntry>> entries = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(auditWriter).write(entries.capture());
+        var entry = entries.getValue().get(0);
+        Assertions.assertEquals("admin", entry.getPrincipal());
+        Assertions.assertEquals(game, entry.getBefore());
+        Assertions.assertEquals(updatedGame, entry.getAfter());
+        Assertions.assertEquals(updatedGame.getId(), entry.getGameId());
+    }
+
+    @Test
+    @DisplayName("record writes entries raised in a transaction only once it commits, bypassing the queue")
+    void record_WritesAfterCommit_WhenInsideTransaction() {
+        auditJournal = journal(AuditProperties.Durability.ASYNC, 1, 2);
+        StepVerifier.create(Flux.range(0, 3)
+                .concatMap(i -> auditJournal.record(AuditOperation.CREATE, null, game))
+                .then(Mono.fromSupplier(this::writtenEntries))
+                .as(transactionalOperator()::transactional))
+            .expectNext(0.0)
+            .verifyComplete();
+
+        Mockito.verify(auditWriter, Mockito.times(2)).write(ArgumentMatchers.any());
+        Assertions.assertEquals(3.0, writtenEntries());
+        Assertions.assertEquals(0.0, meterRegistry.get("game.audit.dropped").counter().count());
+        Assertions.assertEquals(0.0, queueDepth());
+    }
+
+    @Test
+    @DisplayName("record spills batches inside the transaction when the writer joins it")
+    void record_SpillsBatchesInsideTransaction_WhenWriterJoinsTransactions() {
+        BDDMockito.when(auditWriter.joinsTransactions()).thenReturn(true);
+        auditJournal = journal(AuditProperties.Durability.ASYNC, 10, 2);
+        StepVerifier.create(Flux.range(0, 3)
+                .concatMap(i -> auditJournal.record(AuditOperation.CREATE, null, game))
+                .then(Mono.fromRunnable(() -> Mockito.verify(auditWriter).write(ArgumentMatchers.any())))
+                .as(transactionalOperator()::transactional))
+            .verifyComplete();
+
+        Mockito.verify(auditWriter, Mockito.times(2)).write(ArgumentMatchers.any());
+        Assertions.assertEquals(3.0, writtenEntries());
+    }
+
+    @Test
+    @DisplayName("record discards entries raised in a transaction that rolls back")
+    void record_DiscardsEntries_WhenTransactionRollsBack() {
+        auditJournal = journal(AuditProperties.Durability.ASYNC, 10, 10);
+        StepVerifier.create(auditJournal.record(AuditOperation.CREATE, null, game)
+                .then(Mono.error(new IllegalStateException("rollback")))
+                .as(transactionalOperator()::transactional))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        Mockito.verify(auditWriter, Mockito.never()).write(ArgumentMatchers.any());
+        Assertions.assertEquals(0.0, queueDepth());
+    }
+
+    private double writtenEntries() {
+        return meterRegistry.get("game.audit.written").counter().count();
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("game.audit.queue.depth").gauge().value();
+    }
+
+    private TransactionalOperator transactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(
+            ConnectionFactories.get("r2dbc:h2:mem:///audit;DB_CLOSE_DELAY=-1")));
+    }
+
+    private AuditJournal journal(AuditProperties.Durability durability, int capacity, int batchSize) {
+        var properties = new AuditProperties();
+        properties.setDurability(durability);
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(Duration.ofHours(1));
+        return new AuditJournal(auditWriter, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,148 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.GameBatchProperties;
+import com.dchristofolli.webfluxessentials.config.ReadYourWrites;
+import com.dchristofolli.webfluxessentials.config.ReplicaRoutingProperties;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import com.dchristofolli.webfluxessentials.util.GameCreator;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@ExtendWith(SpringExtension.class)
+class GameBatchLoaderTest {
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameBatchLoader gameBatchLoader;
+    private ReplicaRoutingProperties replicaRoutingProperties;
+
+    private final Game game = GameCreator.createValidGame();
+    private final Game otherGame = GameCreator.createValidGame().withId(2).withName("Bloodborne");
+
+    @BeforeEach
+    void setup() {
+        var properties = new GameBatchProperties();
+        properties.setEnabled(true);
+        properties.setMaxSize(10);
+        properties.setWindow(Duration.ofMillis(50));
+        replicaRoutingProperties = new ReplicaRoutingProperties();
+        gameBatchLoader = new GameBatchLoader(gameRepository, properties, new ReadYourWrites(replicaRoutingProperties));
+        BDDMockito.when(gameRepository.findAllByIds(ArgumentMatchers.any()))
+            .thenReturn(Flux.just(game, otherGame));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameBatchLoader.destroy();
+    }
+
+    @Test
+    @DisplayName("load coalesces concurrent lookups into a single query")
+    void load_IssuesSingleQuery_WhenLookupsAreConcurrent() {
+        StepVerifier.create(Mono.zip(gameBatchLoader.load(1), gameBatchLoader.load(2), gameBatchLoader.load(1)))
+            .expectSubscription()
+            .assertNext(games -> {
+                Assertions.assertEquals(game, games.getT1());
+                Assertions.assertEquals(otherGame, games.getT2());
+                Assertions.assertEquals(game, games.getT3());
+            })
+            .verifyComplete();
+
+        var ids = ArgumentCaptor.forClass(Integer[].class);
+        Mockito.verify(gameRepository, Mockito.times(1)).findAllByIds(ids.capture());
+        Assertions.assertArrayEquals(new Integer[]{1, 2}, ids.getValue());
+        Mockito.verify(gameRepository, Mockito.never()).findById(ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    @DisplayName("load returns an empty mono when the id is not in the batch result")
+    void load_ReturnsEmptyMono_WhenGameDoesNotExist() {
+        StepVerifier.create(gameBatchLoader.load(3))
+            .expectSubscription()
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("load propagates the query error to every pending lookup")
+    void load_ReturnsMonoError_WhenQueryFails() {
+        BDDMockito.when(gameRepository.findAllByIds(ArgumentMatchers.any()))
+            .thenReturn(Flux.error(new IllegalStateException("connection refused")));
+        StepVerifier.create(Flux.merge(gameBatchLoader.load(1), gameBatchLoader.load(2)))
+            .expectSubscription()
+            .expectError(IllegalStateException.class)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("load keeps serving lookups when every in-flight batch is waiting on a slow query")
+    void load_CompletesEveryLookup_WhenQueriesAreSlowerThanTheWindow() {
+        gameBatchLoader.destroy();
+        var properties = new GameBatchProperties();
+        properties.setEnabled(true);
+        properties.setMaxSize(1);
+        properties.setMaxInFlight(1);
+        properties.setWindow(Duration.ofMillis(1));
+        gameBatchLoader = new GameBatchLoader(gameRepository, properties, new ReadYourWrites(replicaRoutingProperties));
+        BDDMockito.when(gameRepository.findAllByIds(ArgumentMatchers.any()))
+            .thenReturn(Flux.just(game, otherGame).delaySubscription(Duration.ofMillis(20)));
+
+        StepVerifier.create(Flux.range(0, 20).flatMap(i -> gameBatchLoader.load(1 + i % 2)))
+            .expectNextCount(20)
+            .verifyComplete();
+        StepVerifier.create(gameBatchLoader.load(2))
+            .expectNext(otherGame)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("destroy fails lookups that are still queued or in flight")
+    void destroy_FailsPendingLookups_WhenLoaderShutsDown() {
+        BDDMockito.when(gameRepository.findAllByIds(ArgumentMatchers.any()))
+            .thenReturn(Flux.never());
+        var inFlight = gameBatchLoader.load(1).toFuture();
+        StepVerifier.create(Mono.delay(Duration.ofMillis(100))).expectNextCount(1).verifyComplete();
+
+        gameBatchLoader.destroy();
+
+        StepVerifier.create(Mono.fromFuture(inFlight))
+            .expectError(IllegalStateException.class)
+            .verify();
+        StepVerifier.create(gameBatchLoader.load(2))
+            .expectError(IllegalStateException.class)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("load bypasses batching within the read-your-writes window of the principal")
+    void load_QueriesDirectly_WhenPrincipalWroteRecently() {
+        replicaRoutingProperties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        var readYourWrites = new ReadYourWrites(replicaRoutingProperties);
+        gameBatchLoader.destroy();
+        var properties = new GameBatchProperties();
+        properties.setEnabled(true);
+        gameBatchLoader = new GameBatchLoader(gameRepository, properties, readYourWrites);
+        BDDMockito.when(gameRepository.findById(1)).thenReturn(Mono.just(game));
+        var authentication = new TestingAuthenticationToken("admin", "game");
+
+        StepVerifier.create(readYourWrites.recordWrite()
+                .then(gameBatchLoader.load(1))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+            .expectNext(game)
+            .verifyComplete();
+        Mockito.verify(gameRepository, Mockito.never()).findAllByIds(ArgumentMatchers.any());
+    }
+}
@@ -0,0 +1,94 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import com.dchristofolli.webfluxessentials.util.GameCreator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class GameCatalogTest {
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameCatalog gameCatalog;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Game game = GameCreator.createValidGame();
+    private final Game otherGame = GameCreator.createValidGame().withId(2).withName("Bloodborne");
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameCatalog = new GameCatalog(gameRepository, meterRegistry);
+        BDDMockito.when(gameRepository.findAll())
+            .thenReturn(Flux.just(otherGame, game));
+        StepVerifier.create(gameCatalog.resync(10))
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("resync loads every game and serves them ordered by id")
+    void resync_LoadsCatalog_WhenSuccessful() {
+        Assertions.assertTrue(gameCatalog.isReady());
+        Assertions.assertEquals(game, gameCatalog.get(1));
+        StepVerifier.create(gameCatalog.findAll())
+            .expectNext(game, otherGame)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("invalidate reloads changed games and drops deleted ones")
+    void invalidate_AppliesChanges_WhenNotified() {
+        var renamed = game.withName("The Last of Us - Part 2");
+        BDDMockito.when(gameRepository.findAllByIds(ArgumentMatchers.any()))
+            .thenReturn(Flux.just(renamed));
+
+        StepVerifier.create(gameCatalog.invalidate(List.of(
+                new GameCatalog.Change(11, 1, System.currentTimeMillis()),
+                new GameCatalog.Change(12, 2, System.currentTimeMillis()))))
+            .verifyComplete();
+
+        Assertions.assertEquals(renamed, gameCatalog.get(1));
+        Assertions.assertNull(gameCatalog.get(2));
+        Assertions.assertEquals(0.0, meterRegistry.get("game.catalog.staleness").gauge().value());
+    }
+
+    @Test
+    @DisplayName("invalidate reports a gap when a sequence number is skipped")
+    void invalidate_ReportsGap_WhenSequenceIsSkipped() {
+        BDDMockito.when(gameRepository.findAllByIds(ArgumentMatchers.any()))
+            .thenReturn(Flux.just(game));
+
+        StepVerifier.create(gameCatalog.invalidate(List.of(new GameCatalog.Change(12, 1, System.currentTimeMillis()))))
+            .verifyComplete();
+
+        Assertions.assertTrue(gameCatalog.hasExpiredGap(Duration.ZERO.minusNanos(1)));
+        Assertions.assertFalse(gameCatalog.hasExpiredGap(Duration.ofHours(1)));
+        StepVerifier.create(gameCatalog.invalidate(List.of(new GameCatalog.Change(11, 1, System.currentTimeMillis()))))
+            .verifyComplete();
+        Assertions.assertFalse(gameCatalog.hasExpiredGap(Duration.ZERO.minusNanos(1)));
+    }
+
+    @Test
+    @DisplayName("markStale reports staleness until the next resync")
+    void markStale_ReportsStaleness_WhenListenerDisconnects() {
+        gameCatalog.markStale();
+        Assertions.assertTrue(gameCatalog.hasExpiredGap(Duration.ZERO.minusNanos(1)));
+
+        StepVerifier.create(gameCatalog.resync(20))
+            .verifyComplete();
+        Assertions.assertFalse(gameCatalog.hasExpiredGap(Duration.ZERO.minusNanos(1)));
+        Assertions.assertEquals(0.0, meterRegistry.get("game.catalog.staleness").gauge().value());
+    }
+}
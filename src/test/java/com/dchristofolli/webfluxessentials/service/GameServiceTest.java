@@ -1,6 +1,8 @@
 package com.dchristofolli.webfluxessentials.service;
 
+import com.dchristofolli.webfluxessentials.domain.AuditOperation;
 import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.domain.UpsertKey;
 import com.dchristofolli.webfluxessentials.repository.GameRepository;
 import com.dchristofolli.webfluxessentials.util.GameCreator;
 import org.junit.jupiter.api.*;
@@ -9,6 +11,8 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.blockhound.BlockHound;
@@ -30,6 +34,18 @@ class GameServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private GameBatchLoader gameBatchLoader;
+
+    @Mock
+    private GameWriteCoalescer gameWriteCoalescer;
+
+    @Mock
+    private GameCatalog gameCatalog;
+
+    @Mock
+    private AuditJournal auditJournal;
+
     private final Game game = GameCreator.createValidGame();
 
     @BeforeAll
@@ -39,15 +55,18 @@ class GameServiceTest {
 
     @BeforeEach
     void setup() {
+        BDDMockito.when(auditJournal.record(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenReturn(Mono.empty());
+        BDDMockito.when(gameBatchLoader.load(ArgumentMatchers.anyInt()))
+            .thenAnswer(invocation -> gameRepository.findById(invocation.<Integer>getArgument(0)));
         BDDMockito.when(gameRepository.findAll())
             .thenReturn(Flux.just(game));
         BDDMockito.when(gameRepository.findById(ArgumentMatchers.anyInt()))
             .thenReturn(Mono.just(game));
         BDDMockito.when(gameRepository.save(GameCreator.createGameToBeSaved()))
             .thenReturn(Mono.just(game));
-        BDDMockito.when(gameRepository.saveAll(List.of(GameCreator.createGameToBeSaved(),
-                GameCreator.createGameToBeSaved())))
-            .thenReturn(Flux.just(game, game));
+        BDDMockito.when(gameRepository.saveAll(ArgumentMatchers.<Publisher<Game>>any()))
+            .thenAnswer(invocation -> Flux.from(invocation.<Publisher<Game>>getArgument(0)).map(saved -> game));
         BDDMockito.when(gameRepository.delete(ArgumentMatchers.any(Game.class)))
             .thenReturn(Mono.empty());
         BDDMockito.when(gameRepository.save(GameCreator.createValidGame()))
@@ -88,6 +107,19 @@ class GameServiceTest {
             .verifyComplete();
     }
 
+    @Test
+    @DisplayName("findById returns the catalog copy without querying when the catalog is ready")
+    void findById_ReturnsCatalogGame_WhenCatalogIsReady() {
+        BDDMockito.when(gameCatalog.isReady()).thenReturn(true);
+        BDDMockito.when(gameCatalog.get(1)).thenReturn(game);
+
+        StepVerifier.create(gameService.findById(1))
+            .expectSubscription()
+            .expectNext(game)
+            .verifyComplete();
+        Mockito.verify(gameBatchLoader, Mockito.never()).load(ArgumentMatchers.anyInt());
+    }
+
     @Test
     @DisplayName("findById returns a mono error when game does not exist")
     void findById_ReturnMonoError_WhenEmptyMonoIsReturned() {
@@ -114,7 +146,7 @@ class GameServiceTest {
     @DisplayName("saveAll creates a list of game when successful")
     void saveAll_CreatesListOfGame_WhenSuccessful() {
         Game gameToBeSaved = GameCreator.createGameToBeSaved();
-        StepVerifier.create(gameService.saveAll(List.of(gameToBeSaved, gameToBeSaved)))
+        StepVerifier.create(gameService.saveAll(Flux.just(gameToBeSaved, gameToBeSaved)))
             .expectSubscription()
             .expectNext(game, game)
             .verifyComplete();
@@ -124,15 +156,48 @@ class GameServiceTest {
     @DisplayName("saveAll returns mono error when one of games in the list contains null or empty name")
     void saveAll_ReturnsMonoError_WhenContainsInvalidName() {
         Game gameToBeSaved = GameCreator.createGameToBeSaved();
-        BDDMockito.when(gameRepository.saveAll(List.of(gameToBeSaved, gameToBeSaved.withName(""))))
-            .thenReturn(Flux.just(game, game.withName("")));
-        StepVerifier.create(gameService.saveAll(List.of(gameToBeSaved, gameToBeSaved.withName(""))))
+        StepVerifier.create(gameService.saveAll(Flux.just(gameToBeSaved, gameToBeSaved.withName(""))))
             .expectSubscription()
             .expectNext(game)
             .expectError(ResponseStatusException.class)
             .verify();
     }
 
+    @Test
+    @DisplayName("saveAll hands the whole batch to a single repository call")
+    void saveAll_WritesInSingleCall_WhenBatchIsLarge() {
+        var games = Flux.range(0, 1200).map(i -> GameCreator.createGameToBeSaved());
+
+        StepVerifier.create(gameService.saveAll(games))
+            .expectSubscription()
+            .expectNextCount(1200)
+            .verifyComplete();
+        Mockito.verify(gameRepository, Mockito.times(1)).saveAll(ArgumentMatchers.<Publisher<Game>>any());
+    }
+
+    @Test
+    @DisplayName("upsertAll sends only the last game per id to the repository")
+    void upsertAll_DeduplicatesById_WhenSuccessful() {
+        Game updatedGame = GameCreator.createValidUpdatedGame();
+        BDDMockito.when(gameRepository.upsertAll(List.of(updatedGame), UpsertKey.ID))
+            .thenReturn(Flux.just(updatedGame));
+
+        StepVerifier.create(gameService.upsertAll(List.of(game, updatedGame), UpsertKey.ID))
+            .expectSubscription()
+            .expectNext(updatedGame)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("upsertAll returns mono error when upserting by id and a game has no id")
+    void upsertAll_ReturnsMonoError_WhenIdIsMissing() {
+        StepVerifier.create(gameService.upsertAll(List.of(GameCreator.createGameToBeSaved()), UpsertKey.ID))
+            .expectSubscription()
+            .expectError(ResponseStatusException.class)
+            .verify();
+        Mockito.verify(gameRepository, Mockito.never()).upsertAll(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
     @Test
     @DisplayName("removes the game when successful")
     void delete_removesGame_WhenSuccessful() {
@@ -151,6 +216,38 @@ class GameServiceTest {
             .verify();
     }
 
+    @Test
+    @DisplayName("delete looks the game up on the primary rather than through the read path")
+    void delete_ReadsFromPrimary_WhenCheckingExistence() {
+        StepVerifier.create(gameService.delete(1))
+            .expectSubscription()
+            .verifyComplete();
+        Mockito.verify(gameBatchLoader, Mockito.never()).load(ArgumentMatchers.anyInt());
+        Mockito.verify(gameRepository).findById(1);
+    }
+
+    @Test
+    @DisplayName("update reads the stored game from the repository even when the catalog is ready")
+    void update_BypassesCatalog_WhenCatalogIsReady() {
+        BDDMockito.when(gameCatalog.isReady()).thenReturn(true);
+        BDDMockito.when(gameCatalog.get(1)).thenReturn(game);
+
+        StepVerifier.create(gameService.update(GameCreator.createValidGame()))
+            .expectSubscription()
+            .verifyComplete();
+        Mockito.verify(gameCatalog, Mockito.never()).get(ArgumentMatchers.anyInt());
+        Mockito.verify(gameRepository).findById(1);
+    }
+
+    @Test
+    @DisplayName("delete records the removed game in the audit journal")
+    void delete_RecordsAuditEntry_WhenSuccessful() {
+        StepVerifier.create(gameService.delete(1))
+            .expectSubscription()
+            .verifyComplete();
+        Mockito.verify(auditJournal).record(AuditOperation.DELETE, game, null);
+    }
+
     @Test
     @DisplayName("update save updated game and returns empty mono when successful")
     void update_SaveUpdatedGame_WhenSuccessful() {
@@ -160,6 +257,48 @@ class GameServiceTest {
             .verifyComplete();
     }
 
+    @Test
+    @DisplayName("update saves the requested game and records the stored and saved state")
+    void update_RecordsBeforeAndAfter_WhenSuccessful() {
+        Game updatedGame = GameCreator.createValidUpdatedGame();
+        BDDMockito.when(gameRepository.save(updatedGame))
+            .thenReturn(Mono.just(updatedGame));
+
+        StepVerifier.create(gameService.update(updatedGame))
+            .expectSubscription()
+            .verifyComplete();
+        Mockito.verify(gameRepository).save(updatedGame);
+        Mockito.verify(auditJournal).record(AuditOperation.UPDATE, game, updatedGame);
+    }
+
+    @Test
+    @DisplayName("update submits to the write coalescer when coalescing is enabled")
+    void update_SubmitsToCoalescer_WhenCoalescingIsEnabled() {
+        Game updatedGame = GameCreator.createValidUpdatedGame();
+        BDDMockito.when(gameWriteCoalescer.isEnabled()).thenReturn(true);
+        BDDMockito.when(gameWriteCoalescer.submit(ArgumentMatchers.any(Game.class)))
+            .thenReturn(Mono.just(game));
+
+        StepVerifier.create(gameService.update(updatedGame))
+            .expectSubscription()
+            .verifyComplete();
+        Mockito.verify(gameRepository, Mockito.never()).findById(ArgumentMatchers.anyInt());
+        Mockito.verify(auditJournal).record(AuditOperation.UPDATE, game, updatedGame);
+    }
+
+    @Test
+    @DisplayName("update returns mono error when coalesced write matches no row")
+    void update_ReturnMonoError_WhenCoalescedWriteMatchesNoRow() {
+        BDDMockito.when(gameWriteCoalescer.isEnabled()).thenReturn(true);
+        BDDMockito.when(gameWriteCoalescer.submit(ArgumentMatchers.any(Game.class)))
+            .thenReturn(Mono.empty());
+
+        StepVerifier.create(gameService.update(GameCreator.createValidUpdatedGame()))
+            .expectSubscription()
+            .expectError(ResponseStatusException.class)
+            .verify();
+    }
+
     @Test
     @DisplayName("update return mono error when anime does not exists")
     void update_ReturnMonoError_WhenEmptyMonoIsReturned() {
@@ -0,0 +1,106 @@
+package com.dchristofolli.webfluxessentials.service;
+
+import com.dchristofolli.webfluxessentials.config.GameWriteCoalescingProperties;
+import com.dchristofolli.webfluxessentials.domain.Game;
+import com.dchristofolli.webfluxessentials.repository.GameRepository;
+import com.dchristofolli.webfluxessentials.util.GameCreator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class GameWriteCoalescerTest {
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameWriteCoalescer gameWriteCoalescer;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final Game game = GameCreator.createValidGame();
+    private final Game updatedGame = GameCreator.createValidUpdatedGame();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameWriteCoalescer = new GameWriteCoalescer(gameRepository, new GameWriteCoalescingProperties(), meterRegistry);
+        BDDMockito.when(gameRepository.updateAllNames(ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenReturn(Flux.just(game));
+    }
+
+    @Test
+    @DisplayName("flush applies only the last write per id and acknowledges every caller")
+    void flush_AppliesLastWriterWins_WhenSameIdIsUpdatedTwice() {
+        var first = gameWriteCoalescer.submit(game).toFuture();
+        var second = gameWriteCoalescer.submit(updatedGame).toFuture();
+        Assertions.assertFalse(first.isDone());
+
+        StepVerifier.create(gameWriteCoalescer.flush())
+            .verifyComplete();
+
+        Assertions.assertEquals(game, first.join());
+        Assertions.assertEquals(game, second.join());
+        var names = ArgumentCaptor.forClass(String[].class);
+        Mockito.verify(gameRepository, Mockito.times(1)).updateAllNames(ArgumentMatchers.any(), names.capture());
+        Assertions.assertArrayEquals(new String[]{updatedGame.getName()}, names.getValue());
+        Assertions.assertEquals(2.0, meterRegistry.get("game.update.coalescing.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("flush acknowledges with empty when the id does not exist")
+    void flush_AcknowledgesEmpty_WhenRowIsMissing() {
+        var missing = gameWriteCoalescer.submit(game.withId(2)).toFuture();
+
+        StepVerifier.create(gameWriteCoalescer.flush())
+            .verifyComplete();
+
+        Assertions.assertNull(missing.join());
+    }
+
+    @Test
+    @DisplayName("flush propagates the write error to every waiting caller")
+    void flush_PropagatesError_WhenUpdateFails() {
+        BDDMockito.when(gameRepository.updateAllNames(ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenReturn(Flux.error(new IllegalStateException("connection refused")));
+        var write = gameWriteCoalescer.submit(game);
+        var pending = write.toFuture();
+
+        StepVerifier.create(gameWriteCoalescer.flush())
+            .verifyComplete();
+
+        StepVerifier.create(Mono.fromFuture(pending))
+            .expectError(IllegalStateException.class)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("flush retries row by row so only the offending write fails")
+    void flush_FailsOnlyOffendingWrite_WhenOneRowViolatesConstraint() {
+        BDDMockito.when(gameRepository.updateAllNames(ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenAnswer(invocation -> {
+                Integer[] ids = invocation.getArgument(0);
+                return ids.length > 1 || ids[0] == 2 ?
+                    Flux.error(new IllegalStateException("duplicate name")) :
+                    Flux.just(game);
+            });
+        var valid = gameWriteCoalescer.submit(updatedGame).toFuture();
+        var offending = gameWriteCoalescer.submit(game.withId(2)).toFuture();
+
+        StepVerifier.create(gameWriteCoalescer.flush())
+            .verifyComplete();
+
+        Assertions.assertEquals(game, valid.join());
+        StepVerifier.create(Mono.fromFuture(offending))
+            .expectError(IllegalStateException.class)
+            .verify();
+        Assertions.assertEquals(2.0, meterRegistry.get("game.update.coalescing.ratio").gauge().value());
+    }
+}